@@ -1,12 +1,17 @@
 package io.chronetic;
 
 import io.chronetic.data.ChronoSeries;
+import io.chronetic.data.describe.ChronoDescriptor;
 import io.chronetic.data.measure.ChronoScaleUnit;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 
@@ -43,6 +48,11 @@ public class Chronetic {
      * <li>offspring size = 5000</li>
      * <li>survivors size = 5000</li>
      * <li>max generation = 25</li>
+     * <li>batch event counts = true</li>
+     * <li>calendar cube = false</li>
+     * <li>calendar index = false</li>
+     * <li>executor = common fork-join pool</li>
+     * <li>analysis executor = shared pool of a thread per available processor</li>
      * </ul>
      *
      * @return Default configured Chronetic instance
@@ -69,10 +79,31 @@ public class Chronetic {
         chronoSeries.getChronoScale().updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.SECONDS));
         chronoSeries.getChronoScale().updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MINUTES));
         chronoSeries.getChronoScale().updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.HOURS));
-
         return analyzer;
     }
 
+    /**
+     * Analyzes each of the given ChronoSeries datasets on the analysis executor and
+     * describes their most fit Chronotype. Fitness evaluations of all analyses share the executor.
+     *
+     * @param chronoSeriesMap datasets to analyze
+     * @param <K> dataset key type
+     * @return future ChronoDescriptor(s) by dataset key
+     */
+    @NotNull
+    public <K> CompletableFuture<Map<K, ChronoDescriptor>> describeAll(@NotNull Map<K, ChronoSeries> chronoSeriesMap) {
+        Map<K, CompletableFuture<ChronoDescriptor>> futures = new LinkedHashMap<>();
+        for (Map.Entry<K, ChronoSeries> entry : requireNonNull(chronoSeriesMap).entrySet()) {
+            futures.put(entry.getKey(), analyze(entry.getValue()).describeAsync());
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<K, ChronoDescriptor> descriptors = new LinkedHashMap<>();
+            futures.forEach((key, future) -> descriptors.put(key, future.join()));
+            return descriptors;
+        });
+    }
+
     public int getPopulationSize() {
         return builder.populationSize;
     }
@@ -89,4 +120,26 @@ public class Chronetic {
         return builder.maxGeneration;
     }
 
+    public boolean isBatchEventCounts() {
+        return builder.batchEventCounts;
+    }
+
+    public boolean isCalendarCube() {
+        return builder.calendarCube;
+    }
+
+    public boolean isCalendarIndex() {
+        return builder.calendarIndex;
+    }
+
+    @NotNull
+    public Executor getExecutor() {
+        return builder.executor;
+    }
+
+    @NotNull
+    public Executor getAnalysisExecutor() {
+        return builder.analysisExecutor;
+    }
+
 }
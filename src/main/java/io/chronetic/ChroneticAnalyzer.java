@@ -20,6 +20,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Objects.requireNonNull;
 
@@ -106,6 +107,7 @@ public class ChroneticAnalyzer {
         logger.info("Chrono series duration: " + chronoSeries.getDuration());
         logger.info("Begin: " + chronoSeries.getBeginLocalDateTime());
         logger.info("End: " + chronoSeries.getEndLocalDateTime());
+        prepareChronoSeries();
 
         final Codec<Chronotype, AnyGene<Chronotype>> CODEC = Codec.of(
                 Genotype.of(AnyChromosome.of(() -> Chronotype.nextChronotype(chronoSeries))),
@@ -115,6 +117,7 @@ public class ChroneticAnalyzer {
         final Engine<AnyGene<Chronotype>, ChronoFitness> engine = Engine
                 .builder(ChronoFitness::evaluate, CODEC)
                 .populationSize(chronetic.getPopulationSize())
+                .executor(chronetic.getExecutor())
                 .alterers(new ChronoBreeder(chronetic))
 
                 //survive with best fitness
@@ -162,6 +165,30 @@ public class ChroneticAnalyzer {
         return ChronoDescriptor.describe(topSolution());
     }
 
+    /**
+     * Runs the evolutionary process on the Chronetic analysis executor and captures the ChronoDescriptor
+     * of the most fit Chronotype.
+     *
+     * @return future ChronoDescriptor of the Chronotype with the highest fitness after running evolutionary process
+     */
+    @NotNull
+    public CompletableFuture<ChronoDescriptor> describeAsync() {
+        return CompletableFuture.supplyAsync(this::describe, chronetic.getAnalysisExecutor());
+    }
+
+    /**
+     * Builds the calendar structures of the ChronoSeries configured by Chronetic.
+     * Done once the chronological units of precision have been chosen so they are included.
+     */
+    void prepareChronoSeries() {
+        if (chronetic.isCalendarCube()) {
+            chronoSeries.buildCalendarCube();
+        }
+        if (chronetic.isCalendarIndex()) {
+            chronoSeries.buildCalendarIndex();
+        }
+    }
+
     /*
    * https://github.com/jenetics/jenetics/issues/234
    */
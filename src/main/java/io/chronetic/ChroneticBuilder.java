@@ -2,6 +2,15 @@ package io.chronetic;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * Allows custom configuration of the Chronetic instance.
  *
@@ -11,10 +20,17 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ChroneticBuilder {
 
+    private final static Executor ANALYSIS_POOL = newAnalysisPool();
+
     int populationSize = 5000;
     int offspringSize = 5000;
     int survivorsSize = 5000;
     int maxGeneration = 25;
+    boolean batchEventCounts = true;
+    boolean calendarCube = false;
+    boolean calendarIndex = false;
+    Executor executor = ForkJoinPool.commonPool();
+    Executor analysisExecutor = ANALYSIS_POOL;
 
     ChroneticBuilder() {
     }
@@ -63,6 +79,88 @@ public class ChroneticBuilder {
         return this;
     }
 
+    /**
+     * Set whether the event counts needed by a generation are requested together
+     * (as batched queries) before the generation is evaluated.
+     *
+     * @param batchEventCounts whether to batch event counts
+     */
+    @NotNull
+    public ChroneticBuilder batchEventCounts(boolean batchEventCounts) {
+        this.batchEventCounts = batchEventCounts;
+        return this;
+    }
+
+    /**
+     * Set whether a calendar data cube of the analyzed ChronoSeries is built at analysis start.
+     * Event counts of Chronosomes are then summed from the cube's cells rather than counted from
+     * their timestamp ranges; counting no longer depends on the series length.
+     *
+     * @param calendarCube whether to count events from a calendar data cube
+     */
+    @NotNull
+    public ChroneticBuilder calendarCube(boolean calendarCube) {
+        this.calendarCube = calendarCube;
+        return this;
+    }
+
+    /**
+     * Set whether a calendar index of the analyzed ChronoSeries is built at analysis start.
+     * Event counts of Chronosomes are then combined from per calendar value bitmaps of the series' events,
+     * and Chronosomes are only considered the same range when they share events.
+     *
+     * @param calendarIndex whether to count events from a calendar index
+     */
+    @NotNull
+    public ChroneticBuilder calendarIndex(boolean calendarIndex) {
+        this.calendarIndex = calendarIndex;
+        return this;
+    }
+
+    /**
+     * Set executor used to run fitness evaluations.
+     * Analyses of a single Chronetic instance share this executor.
+     *
+     * @param executor fitness evaluation executor
+     */
+    @NotNull
+    public ChroneticBuilder executor(@NotNull Executor executor) {
+        this.executor = requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Set executor used to run asynchronous analyses (see {@link Chronetic#describeAll(java.util.Map)}).
+     * An analysis blocks its thread while waiting on its fitness evaluations; a bounded executor
+     * must not also be used as the fitness evaluation executor. Defaults to a shared pool with a thread
+     * per available processor, separate from the fitness evaluation executor.
+     *
+     * @param analysisExecutor analysis executor
+     */
+    @NotNull
+    public ChroneticBuilder analysisExecutor(@NotNull Executor analysisExecutor) {
+        this.analysisExecutor = requireNonNull(analysisExecutor);
+        return this;
+    }
+
+    /**
+     * Creates the default analysis executor. Analyses beyond the available processors are queued,
+     * bounding the threads and populations held at once; idle threads are released.
+     */
+    @NotNull
+    private static Executor newAnalysisPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), analysis -> {
+            Thread thread = new Thread(analysis, "chronetic-analysis-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     /**
      * Build custom Chronetic instance.
      *
@@ -0,0 +1,349 @@
+package io.chronetic.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.ForwardingCache;
+import com.google.common.cache.RemovalNotification;
+import io.chronetic.data.measure.ChronoRange;
+import org.jenetics.util.ISeq;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds the caches of every ChronoSeries. Series are weakly referenced; their caches are released once the
+ * series is garbage collected, closed (see {@link ChronoSeries#close()}) or evicted to stay within the memory budget.
+ * <p>
+ * Cached entries are weighed by their approximate size in bytes. Every weighted region of a series is bounded by
+ * the series budget; once added entries bring the total weight of all series over the memory budget the caches of the
+ * least recently used series are released. Entries of weighted regions are weighed as they are put.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+public final class CacheRegistry {
+
+    /**
+     * Kinds of cached data held per ChronoSeries.
+     */
+    public enum Region {
+
+        /**
+         * ChronoRanges by ChronoPattern sequence.
+         */
+        CHRONO_RANGES(true),
+
+        /**
+         * Factual ChronoScaleUnits by ChronoUnit. Not weighted; held until the series' caches are released.
+         */
+        SCALE_UNITS(false),
+
+        /**
+         * Event counts by ChronoRange. Expire five minutes after last access.
+         */
+        EVENT_COUNTS(true);
+
+        private final boolean weighted;
+
+        Region(boolean weighted) {
+            this.weighted = weighted;
+        }
+    }
+
+    /**
+     * Default budget (in bytes) of each weighted cache region of a single ChronoSeries.
+     */
+    public static final long DEFAULT_SERIES_BUDGET = 32L * 1024 * 1024;
+
+    /**
+     * Default budget (in bytes) of all cached data.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private static final Map<Region, CacheStats> releasedStats = new EnumMap<>(Region.class);
+    private static final AtomicLong totalWeight = new AtomicLong();
+    private static final AtomicLong releaseCount = new AtomicLong();
+    private static final Cache<ChronoSeries, SeriesCaches> seriesCaches = CacheBuilder.newBuilder()
+            .weakKeys()
+            .removalListener(CacheRegistry::onSeriesRemoval)
+            .build();
+    private static final Map<SeriesCaches, Boolean> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private static volatile SeriesCaches mostRecentCaches;
+    private static volatile long seriesBudget = DEFAULT_SERIES_BUDGET;
+    private static volatile long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    static {
+        for (Region region : Region.values()) {
+            releasedStats.put(region, new CacheStats(0, 0, 0, 0, 0, 0));
+        }
+    }
+
+    private CacheRegistry() {
+        //suppresses default constructor
+    }
+
+    /**
+     * Returns the cache of the given region for the given ChronoSeries.
+     * Entries of weighted regions are only weighed when added through {@link Cache#put} or {@link Cache#get}.
+     *
+     * @param chronoSeries ChronoSeries owning the cache
+     * @param region desired cache region
+     * @param <K> key type of the region
+     * @param <V> value type of the region
+     * @return cache of the given region
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <K, V> Cache<K, V> getCache(@NotNull ChronoSeries chronoSeries, @NotNull Region region) {
+        SeriesCaches caches;
+        try {
+            caches = seriesCaches.get(requireNonNull(chronoSeries), () -> new SeriesCaches(chronoSeries, seriesBudget));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+        if (caches != mostRecentCaches) {
+            synchronized (accessOrder) {
+                if (!caches.released) {
+                    accessOrder.put(caches, Boolean.TRUE);
+                    mostRecentCaches = caches;
+                }
+            }
+        }
+        return (Cache<K, V>) caches.caches.get(requireNonNull(region));
+    }
+
+    /**
+     * Releases every cache of the given ChronoSeries.
+     *
+     * @param chronoSeries ChronoSeries to release caches of
+     */
+    public static void release(@NotNull ChronoSeries chronoSeries) {
+        seriesCaches.invalidate(requireNonNull(chronoSeries));
+    }
+
+    /**
+     * Returns statistics of the given cache region over every ChronoSeries, including released caches.
+     *
+     * @param region desired cache region
+     * @return hit/miss/eviction statistics of the given region
+     */
+    @NotNull
+    public static CacheStats getStats(@NotNull Region region) {
+        seriesCaches.cleanUp();
+        CacheStats stats;
+        synchronized (releasedStats) {
+            stats = releasedStats.get(requireNonNull(region));
+        }
+        for (SeriesCaches caches : seriesCaches.asMap().values()) {
+            stats = stats.plus(caches.caches.get(region).stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Returns amount of times the caches of a ChronoSeries were released;
+     * by garbage collection, closing, or to stay within the memory budget.
+     *
+     * @return amount of released series caches
+     */
+    public static long getReleaseCount() {
+        seriesCaches.cleanUp();
+        return releaseCount.get();
+    }
+
+    /**
+     * Returns approximate size (in bytes) of all cached data.
+     *
+     * @return total weight of cached data
+     */
+    public static long getTotalWeight() {
+        seriesCaches.cleanUp();
+        return totalWeight.get();
+    }
+
+    /**
+     * Set budget (in bytes) of each weighted cache region of a single ChronoSeries.
+     * Applies to series whose caches are created afterwards.
+     *
+     * @param seriesBudget series cache budget
+     */
+    public static void setSeriesBudget(long seriesBudget) {
+        if (seriesBudget < 0) {
+            throw new IllegalArgumentException("Invalid series budget: " + seriesBudget);
+        }
+        CacheRegistry.seriesBudget = seriesBudget;
+    }
+
+    /**
+     * Set budget (in bytes) of all cached data. Applies once entries are added afterwards.
+     *
+     * @param memoryBudget memory budget
+     */
+    public static void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        }
+        CacheRegistry.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Releases the least recently used series caches (other than the given) while over the memory budget.
+     */
+    private static void enforceMemoryBudget(@NotNull SeriesCaches addedCaches) {
+        while (totalWeight.get() > memoryBudget) {
+            SeriesCaches leastRecentCaches = null;
+            synchronized (accessOrder) {
+                for (SeriesCaches caches : accessOrder.keySet()) {
+                    if (caches != addedCaches) {
+                        leastRecentCaches = caches;
+                        break;
+                    }
+                }
+            }
+            if (leastRecentCaches == null) {
+                return;
+            }
+            releaseCaches(leastRecentCaches);
+        }
+    }
+
+    private static void onSeriesRemoval(@NotNull RemovalNotification<ChronoSeries, SeriesCaches> notification) {
+        SeriesCaches caches = notification.getValue();
+        if (caches != null) {
+            releaseCaches(caches);
+        }
+    }
+
+    private static void releaseCaches(@NotNull SeriesCaches caches) {
+        synchronized (accessOrder) {
+            if (caches.released) {
+                return;
+            }
+            caches.released = true;
+            accessOrder.remove(caches);
+            if (mostRecentCaches == caches) {
+                mostRecentCaches = null;
+            }
+        }
+
+        totalWeight.addAndGet(-caches.weight.getAndSet(0));
+        releaseCount.incrementAndGet();
+        synchronized (releasedStats) {
+            for (Region region : Region.values()) {
+                releasedStats.put(region, releasedStats.get(region).plus(caches.caches.get(region).stats()));
+            }
+        }
+
+        ChronoSeries chronoSeries = caches.chronoSeries.get();
+        if (chronoSeries != null) {
+            seriesCaches.asMap().remove(chronoSeries, caches);
+        }
+    }
+
+    /**
+     * Returns approximate size (in bytes) of the given cache entry.
+     */
+    static int weigh(@NotNull Object key, @NotNull Object value) {
+        long weight = 64 + weighObject(key) + weighObject(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long weighObject(@NotNull Object object) {
+        if (object instanceof ISeq) {
+            return 32L * ((ISeq<?>) object).size();
+        } else if (object instanceof ChronoRange) {
+            //ChronoRange keys keep their timestamp ranges alive as well
+            ChronoRange chronoRange = (ChronoRange) object;
+            return 128 + (chronoRange.isPeriodic() ? 64 : 16L * chronoRange.getRangeCount());
+        }
+        return 32;
+    }
+
+    /**
+     * Caches of a single ChronoSeries.
+     */
+    private static final class SeriesCaches {
+
+        private final WeakReference<ChronoSeries> chronoSeries; //caches mustn't keep their series reachable
+        private final Map<Region, Cache<Object, Object>> caches = new EnumMap<>(Region.class);
+        private final AtomicLong weight = new AtomicLong();
+        private volatile boolean released;
+
+        private SeriesCaches(@NotNull ChronoSeries chronoSeries, long budget) {
+            this.chronoSeries = new WeakReference<>(chronoSeries);
+            for (Region region : Region.values()) {
+                CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+                if (region == Region.EVENT_COUNTS) {
+                    builder.expireAfterAccess(5, TimeUnit.MINUTES);
+                }
+                if (region.weighted) {
+                    builder.maximumWeight(budget)
+                            .weigher(CacheRegistry::weigh)
+                            .removalListener(notification -> {
+                                if (notification.getKey() != null && notification.getValue() != null) {
+                                    addWeight(-weigh(notification.getKey(), notification.getValue()));
+                                }
+                            });
+                    caches.put(region, new WeighedCache(builder.build()));
+                } else {
+                    caches.put(region, builder.build());
+                }
+            }
+        }
+
+        private void addWeight(long delta) {
+            if (!released) {
+                weight.addAndGet(delta);
+                totalWeight.addAndGet(delta);
+                if (delta > 0) {
+                    enforceMemoryBudget(this);
+                }
+            }
+        }
+
+        /**
+         * Cache of a weighted region; adds the weight of entries as they are put.
+         * Entries removed for any reason are subtracted by the region's removal listener.
+         */
+        private final class WeighedCache extends ForwardingCache.SimpleForwardingCache<Object, Object> {
+
+            private WeighedCache(@NotNull Cache<Object, Object> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public void put(@NotNull Object key, @NotNull Object value) {
+                super.put(key, value);
+                addWeight(weigh(key, value));
+            }
+
+            @Override
+            public void putAll(@NotNull Map<?, ?> map) {
+                map.forEach(this::put);
+            }
+
+            @NotNull
+            @Override
+            public Object get(@NotNull Object key, @NotNull Callable<?> valueLoader) throws ExecutionException {
+                Object[] loadedValue = new Object[1];
+                Object value = super.get(key, () -> loadedValue[0] = valueLoader.call());
+                if (loadedValue[0] != null) {
+                    addWeight(weigh(key, loadedValue[0]));
+                }
+                return value;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,285 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScale;
+import io.chronetic.data.measure.ChronoScaleUnit;
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Joint event counts of a ChronoSeries by calendar field values (year, month, aligned week of month,
+ * day of week, hour, minute, second). Built in one pass over the series; ChronoPattern sequences
+ * are then counted by summing the matching cells, independent of the series length.
+ * <p>
+ * An event matches a ChronoPattern sequence when, for every ChronoUnit of the sequence, its calendar field
+ * equals any of the unit's temporal values (or the unit has a ChronoPattern without temporal value).
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class CalendarCube {
+
+    /**
+     * Maximum amount of cells the cube may hold; finer units are left out once exceeded.
+     */
+    static final int MAX_CELLS = 1 << 20;
+
+    private static final ChronoUnit[] UNITS = {
+            ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.WEEKS, ChronoUnit.DAYS,
+            ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS
+    };
+    private static final int[] CARDINALITIES = {-1, 12, 5, 7, 24, 60, 60};
+    private static final int[] SHIFTS = {27, 23, 20, 17, 12, 6, 0};
+    private static final int[] BITS = {16, 4, 3, 3, 5, 6, 6};
+    private static final Instant MAX_TIMESTAMP = ChronoSeries.toInstant(Long.MAX_VALUE);
+
+    private final boolean[] dimensions;
+    private final int finestDimension;
+    private final long[] cellKeys;
+    private final int[] cellCounts;
+
+    private CalendarCube(@NotNull boolean[] dimensions, @NotNull long[] cellKeys, @NotNull int[] cellCounts) {
+        this.dimensions = dimensions;
+        this.cellKeys = cellKeys;
+        this.cellCounts = cellCounts;
+
+        int finestDimension = -1;
+        for (int i = 0; i < dimensions.length; i++) {
+            if (dimensions[i]) {
+                finestDimension = i;
+            }
+        }
+        this.finestDimension = finestDimension;
+    }
+
+    /**
+     * Creates CalendarCube of the given ChronoSeries over its enabled ChronoScaleUnits (YEARS through SECONDS).
+     * Units are added from coarsest to finest while the possible amount of cells stays within {@link #MAX_CELLS}.
+     *
+     * @param chronoSeries ChronoSeries to count
+     * @return CalendarCube of the given ChronoSeries
+     */
+    @NotNull
+    static CalendarCube of(@NotNull ChronoSeries chronoSeries) {
+        ChronoScale chronoScale = requireNonNull(chronoSeries).getChronoScale();
+        Set<ChronoUnit> enabledUnits = EnumSet.noneOf(ChronoUnit.class);
+        for (ChronoScaleUnit scaleUnit : chronoScale.getEnabledChronoScaleUnits()) {
+            enabledUnits.add(scaleUnit.getChronoUnit());
+        }
+
+        boolean[] dimensions = new boolean[UNITS.length];
+        long possibleCells = 1;
+        for (int i = 0; i < UNITS.length; i++) {
+            if (enabledUnits.contains(UNITS[i])) {
+                possibleCells *= i == 0 ? chronoSeries.getEndLocalDateTime().getYear()
+                        - chronoSeries.getBeginLocalDateTime().getYear() + 1 : CARDINALITIES[i];
+                if (possibleCells > MAX_CELLS) {
+                    break;
+                }
+                dimensions[i] = true;
+            }
+        }
+
+        CalendarCube cube = new CalendarCube(dimensions, new long[0], new int[0]);
+        return cube.plus(chronoSeries.getSource(), 0, chronoSeries.getSize());
+    }
+
+    /**
+     * Returns CalendarCube which additionally counts the given series positions of the given source.
+     *
+     * @param source source of the events
+     * @param fromPosition first series position to count
+     * @param toPosition series position after the last to count
+     * @return CalendarCube including the given events
+     */
+    @NotNull
+    CalendarCube plus(@NotNull ChronoSeriesSource source, int fromPosition, int toPosition) {
+        Map<Long, int[]> cells = new HashMap<>();
+        for (int i = 0; i < cellKeys.length; i++) {
+            cells.put(cellKeys[i], new int[]{cellCounts[i]});
+        }
+
+        //events of the same cell are contiguous; only compute calendar fields when a cell boundary is passed
+        long[] block = new long[4096];
+        long cellKey = 0;
+        long cellEndNanos = Long.MIN_VALUE;
+        int cellCount = 0;
+        for (int position = fromPosition; position < toPosition; position += block.length) {
+            int length = Math.min(block.length, toPosition - position);
+            source.getEpochNanos(position, block, length);
+            for (int i = 0; i < length; i++) {
+                if (block[i] >= cellEndNanos) {
+                    if (cellCount > 0) {
+                        cells.computeIfAbsent(cellKey, key -> new int[1])[0] += cellCount;
+                    }
+
+                    LocalDateTime dateTime = ChronoSeries.toInstant(block[i]).atZone(ZoneOffset.UTC).toLocalDateTime();
+                    cellKey = toCellKey(dateTime);
+                    cellEndNanos = getCellEndNanos(dateTime);
+                    cellCount = 0;
+                }
+                cellCount++;
+            }
+        }
+        if (cellCount > 0) {
+            cells.computeIfAbsent(cellKey, key -> new int[1])[0] += cellCount;
+        }
+
+        long[] keys = new long[cells.size()];
+        int i = 0;
+        for (Long key : cells.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        int[] counts = new int[keys.length];
+        for (i = 0; i < keys.length; i++) {
+            counts[i] = cells.get(keys[i])[0];
+        }
+        return new CalendarCube(dimensions, keys, counts);
+    }
+
+    /**
+     * Returns amount of cells of this CalendarCube.
+     *
+     * @return amount of cells
+     */
+    int getCellCount() {
+        return cellKeys.length;
+    }
+
+    /**
+     * Determines whether every ChronoPattern of the given ChronoRange can be counted by this CalendarCube.
+     *
+     * @param chronoRange ChronoRange to consider
+     * @return whether the given ChronoRange can be counted
+     */
+    boolean supports(@NotNull ChronoRange chronoRange) {
+        for (ChronoPattern chronoPattern : requireNonNull(chronoRange).getChronoPatternSeq()) {
+            if (chronoPattern.getTemporalValue().isPresent()
+                    && getDimension(chronoPattern.getChronoScaleUnit().getChronoUnit()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the events matching the ChronoPattern sequence of the given ChronoRange.
+     *
+     * @param chronoRange desired ChronoRange
+     * @return amount of matching events; empty if the ChronoRange uses a unit this CalendarCube doesn't hold
+     */
+    @NotNull
+    OptionalInt countEvents(@NotNull ChronoRange chronoRange) {
+        if (!supports(chronoRange)) {
+            return OptionalInt.empty();
+        }
+
+        //allowed values by dimension; units with a pattern without temporal value allow every value
+        int[][] allowedValues = new int[UNITS.length][];
+        boolean[] wildcard = new boolean[UNITS.length];
+        for (ChronoPattern chronoPattern : chronoRange.getChronoPatternSeq()) {
+            int dimension = getDimension(chronoPattern.getChronoScaleUnit().getChronoUnit());
+            if (dimension < 0) {
+                continue;
+            } else if (!chronoPattern.getTemporalValue().isPresent()) {
+                wildcard[dimension] = true;
+                continue;
+            }
+
+            int[] values = allowedValues[dimension];
+            values = values == null ? new int[1] : Arrays.copyOf(values, values.length + 1);
+            values[values.length - 1] = chronoPattern.getTemporalValue().getAsInt();
+            allowedValues[dimension] = values;
+        }
+
+        int constrainedDimensions = 0;
+        int[] dimensionIndexes = new int[UNITS.length];
+        for (int dimension = 0; dimension < UNITS.length; dimension++) {
+            if (allowedValues[dimension] != null && !wildcard[dimension]) {
+                dimensionIndexes[constrainedDimensions++] = dimension;
+            }
+        }
+
+        int count = 0;
+        for (int cell = 0; cell < cellKeys.length; cell++) {
+            boolean match = true;
+            for (int i = 0; i < constrainedDimensions && match; i++) {
+                int dimension = dimensionIndexes[i];
+                int value = (int) ((cellKeys[cell] >>> SHIFTS[dimension]) & ((1L << BITS[dimension]) - 1));
+                match = false;
+                for (int allowedValue : allowedValues[dimension]) {
+                    if (value == allowedValue) {
+                        match = true;
+                        break;
+                    }
+                }
+            }
+            if (match) {
+                count += cellCounts[cell];
+            }
+        }
+        return OptionalInt.of(count);
+    }
+
+    private int getDimension(@NotNull ChronoUnit chronoUnit) {
+        for (int i = 0; i < UNITS.length; i++) {
+            if (UNITS[i] == chronoUnit) {
+                return dimensions[i] ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private long toCellKey(@NotNull LocalDateTime dateTime) {
+        long key = 0;
+        for (int i = 0; i <= finestDimension; i++) {
+            if (!dimensions[i]) {
+                continue;
+            }
+            ChronoField chronoField = ChronoScale.getChronoField(UNITS[i]);
+            key |= ((long) dateTime.get(chronoField) & ((1L << BITS[i]) - 1)) << SHIFTS[i];
+        }
+        return key;
+    }
+
+    /**
+     * Returns epoch nanos of the start of the next cell after the cell of the given LocalDateTime;
+     * Long.MAX_VALUE when no dimension is held or the next cell starts past the supported range.
+     */
+    private long getCellEndNanos(@NotNull LocalDateTime dateTime) {
+        if (finestDimension < 0) {
+            return Long.MAX_VALUE;
+        }
+
+        Instant end = getCellEnd(dateTime).toInstant(ZoneOffset.UTC);
+        return end.isBefore(MAX_TIMESTAMP) ? ChronoSeries.toEpochNanos(end) : Long.MAX_VALUE;
+    }
+
+    @NotNull
+    private LocalDateTime getCellEnd(@NotNull LocalDateTime dateTime) {
+        switch (UNITS[finestDimension]) {
+            case YEARS:
+                return dateTime.with(TemporalAdjusters.firstDayOfNextYear()).truncatedTo(ChronoUnit.DAYS);
+            case MONTHS:
+                return dateTime.with(TemporalAdjusters.firstDayOfNextMonth()).truncatedTo(ChronoUnit.DAYS);
+            case WEEKS:
+            case DAYS:
+                return dateTime.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            default:
+                return dateTime.truncatedTo(UNITS[finestDimension]).plus(1, UNITS[finestDimension]);
+        }
+    }
+
+}
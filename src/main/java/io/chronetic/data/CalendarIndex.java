@@ -0,0 +1,325 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScale;
+import io.chronetic.data.measure.ChronoScaleUnit;
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Index of a ChronoSeries' events by calendar field value. Every (ChronoUnit, temporal value) pair holds a
+ * run-encoded bitmap of the series positions with that value; since series are sorted, calendar values
+ * form long runs of positions. ChronoPattern sequences are matched by OR-ing the bitmaps of each unit's
+ * values and AND-ing across units.
+ * <p>
+ * An event matches a ChronoPattern sequence when, for every ChronoUnit of the sequence, its calendar field
+ * equals any of the unit's temporal values (or the unit has a ChronoPattern without temporal value).
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class CalendarIndex {
+
+    private static final ChronoUnit[] UNITS = {
+            ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.WEEKS, ChronoUnit.DAYS,
+            ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS
+    };
+    private static final Instant MAX_TIMESTAMP = ChronoSeries.toInstant(Long.MAX_VALUE);
+
+    private final Map<ChronoUnit, Map<Integer, RunBitmap>> bitmaps = new EnumMap<>(ChronoUnit.class);
+    private final ChronoUnit finestUnit;
+    private int size;
+
+    private CalendarIndex(@NotNull Set<ChronoUnit> indexedUnits) {
+        ChronoUnit finestUnit = null;
+        for (ChronoUnit chronoUnit : UNITS) {
+            if (indexedUnits.contains(chronoUnit)) {
+                bitmaps.put(chronoUnit, new HashMap<>());
+                finestUnit = chronoUnit;
+            }
+        }
+        this.finestUnit = finestUnit;
+    }
+
+    /**
+     * Creates CalendarIndex of the given ChronoSeries over its enabled ChronoScaleUnits (YEARS through SECONDS).
+     *
+     * @param chronoSeries ChronoSeries to index
+     * @return CalendarIndex of the given ChronoSeries
+     */
+    @NotNull
+    static CalendarIndex of(@NotNull ChronoSeries chronoSeries) {
+        Set<ChronoUnit> indexedUnits = EnumSet.noneOf(ChronoUnit.class);
+        for (ChronoScaleUnit scaleUnit : requireNonNull(chronoSeries).getChronoScale().getEnabledChronoScaleUnits()) {
+            indexedUnits.add(scaleUnit.getChronoUnit());
+        }
+
+        CalendarIndex index = new CalendarIndex(indexedUnits);
+        index.append(chronoSeries.getSource(), 0, chronoSeries.getSize());
+        return index;
+    }
+
+    /**
+     * Indexes the given series positions of the given source, which must directly follow the indexed positions.
+     * Must not be called while the index is used.
+     *
+     * @param source source of the events
+     * @param fromPosition first series position to index
+     * @param toPosition series position after the last to index
+     */
+    void append(@NotNull ChronoSeriesSource source, int fromPosition, int toPosition) {
+        if (fromPosition != size) {
+            throw new IllegalArgumentException("Invalid series position: " + fromPosition + "; Indexed: " + size);
+        }
+
+        //events of the same finest unit are contiguous; only compute calendar fields when a unit boundary is passed
+        long[] block = new long[4096];
+        LocalDateTime runDateTime = null;
+        long runEndNanos = Long.MIN_VALUE;
+        int runStart = fromPosition;
+        for (int position = fromPosition; position < toPosition; position += block.length) {
+            int length = Math.min(block.length, toPosition - position);
+            source.getEpochNanos(position, block, length);
+            for (int i = 0; i < length; i++) {
+                if (block[i] >= runEndNanos) {
+                    if (runDateTime != null) {
+                        addRun(runDateTime, runStart, position + i);
+                    }
+                    runDateTime = ChronoSeries.toInstant(block[i]).atZone(ZoneOffset.UTC).toLocalDateTime();
+                    runEndNanos = getRunEndNanos(runDateTime);
+                    runStart = position + i;
+                }
+            }
+        }
+        if (runDateTime != null) {
+            addRun(runDateTime, runStart, toPosition);
+        }
+        size = toPosition;
+    }
+
+    /**
+     * Determines whether every ChronoPattern of the given ChronoRange can be matched by this CalendarIndex.
+     *
+     * @param chronoRange ChronoRange to consider
+     * @return whether the given ChronoRange can be matched
+     */
+    boolean supports(@NotNull ChronoRange chronoRange) {
+        for (ChronoPattern chronoPattern : requireNonNull(chronoRange).getChronoPatternSeq()) {
+            if (chronoPattern.getTemporalValue().isPresent()
+                    && !bitmaps.containsKey(chronoPattern.getChronoScaleUnit().getChronoUnit())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the events matching the ChronoPattern sequence of the given ChronoRange.
+     *
+     * @param chronoRange desired ChronoRange
+     * @return amount of matching events; empty if the ChronoRange uses a unit this CalendarIndex doesn't hold
+     */
+    @NotNull
+    OptionalInt countEvents(@NotNull ChronoRange chronoRange) {
+        if (!supports(chronoRange)) {
+            return OptionalInt.empty();
+        }
+
+        RunBitmap matches = getMatches(chronoRange);
+        return OptionalInt.of(matches == null ? size : matches.getCardinality());
+    }
+
+    /**
+     * Determines whether any event matches the ChronoPattern sequences of both given ChronoRanges.
+     *
+     * @param chronoRange first ChronoRange
+     * @param otherChronoRange second ChronoRange
+     * @return whether the given ChronoRanges share events; empty if either uses a unit this CalendarIndex doesn't hold
+     */
+    @NotNull
+    Optional<Boolean> isSharingEvents(@NotNull ChronoRange chronoRange, @NotNull ChronoRange otherChronoRange) {
+        if (!supports(chronoRange) || !supports(otherChronoRange)) {
+            return Optional.empty();
+        }
+
+        RunBitmap matches = getMatches(chronoRange);
+        RunBitmap otherMatches = getMatches(otherChronoRange);
+        if (matches == null) {
+            return Optional.of(otherMatches == null ? size > 0 : !otherMatches.isEmpty());
+        } else if (otherMatches == null) {
+            return Optional.of(!matches.isEmpty());
+        }
+        return Optional.of(!matches.and(otherMatches).isEmpty());
+    }
+
+    /**
+     * Returns bitmap of the events matching the given ChronoRange; null if every event matches.
+     */
+    private RunBitmap getMatches(@NotNull ChronoRange chronoRange) {
+        //OR within each unit; units with a pattern without temporal value match every event
+        Map<ChronoUnit, RunBitmap> unitMatches = new EnumMap<>(ChronoUnit.class);
+        Set<ChronoUnit> wildcardUnits = EnumSet.noneOf(ChronoUnit.class);
+        for (ChronoPattern chronoPattern : chronoRange.getChronoPatternSeq()) {
+            ChronoUnit chronoUnit = chronoPattern.getChronoScaleUnit().getChronoUnit();
+            if (!chronoPattern.getTemporalValue().isPresent()) {
+                wildcardUnits.add(chronoUnit);
+                continue;
+            }
+
+            RunBitmap valueBitmap = bitmaps.get(chronoUnit).get(chronoPattern.getTemporalValue().getAsInt());
+            if (valueBitmap == null) {
+                valueBitmap = RunBitmap.EMPTY;
+            }
+            unitMatches.merge(chronoUnit, valueBitmap, RunBitmap::or);
+        }
+
+        //AND across units
+        RunBitmap matches = null;
+        for (Map.Entry<ChronoUnit, RunBitmap> entry : unitMatches.entrySet()) {
+            if (!wildcardUnits.contains(entry.getKey())) {
+                matches = matches == null ? entry.getValue() : matches.and(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    private void addRun(@NotNull LocalDateTime dateTime, int start, int end) {
+        for (Map.Entry<ChronoUnit, Map<Integer, RunBitmap>> entry : bitmaps.entrySet()) {
+            int value = dateTime.get(ChronoScale.getChronoField(entry.getKey()));
+            entry.getValue().computeIfAbsent(value, key -> new RunBitmap()).addRun(start, end);
+        }
+    }
+
+    /**
+     * Returns epoch nanos of the start of the next finest indexed unit after the given LocalDateTime;
+     * Long.MAX_VALUE when no unit is indexed or the next unit starts past the supported range.
+     */
+    private long getRunEndNanos(@NotNull LocalDateTime dateTime) {
+        if (finestUnit == null) {
+            return Long.MAX_VALUE;
+        }
+
+        Instant end = getRunEnd(dateTime).toInstant(ZoneOffset.UTC);
+        return end.isBefore(MAX_TIMESTAMP) ? ChronoSeries.toEpochNanos(end) : Long.MAX_VALUE;
+    }
+
+    @NotNull
+    private LocalDateTime getRunEnd(@NotNull LocalDateTime dateTime) {
+        switch (finestUnit) {
+            case YEARS:
+                return dateTime.with(TemporalAdjusters.firstDayOfNextYear()).truncatedTo(ChronoUnit.DAYS);
+            case MONTHS:
+                return dateTime.with(TemporalAdjusters.firstDayOfNextMonth()).truncatedTo(ChronoUnit.DAYS);
+            case WEEKS:
+            case DAYS:
+                return dateTime.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            default:
+                return dateTime.truncatedTo(finestUnit).plus(1, finestUnit);
+        }
+    }
+
+    /**
+     * Set of series positions held as sorted, non-adjacent runs [start, end).
+     */
+    private static final class RunBitmap {
+
+        private static final RunBitmap EMPTY = new RunBitmap();
+
+        private int[] starts;
+        private int[] ends;
+        private int runs;
+
+        private RunBitmap() {
+            this(new int[4], new int[4], 0);
+        }
+
+        private RunBitmap(@NotNull int[] starts, @NotNull int[] ends, int runs) {
+            this.starts = starts;
+            this.ends = ends;
+            this.runs = runs;
+        }
+
+        private void addRun(int start, int end) {
+            if (runs > 0 && ends[runs - 1] == start) {
+                ends[runs - 1] = end;
+                return;
+            } else if (runs == starts.length) {
+                starts = Arrays.copyOf(starts, runs * 2);
+                ends = Arrays.copyOf(ends, runs * 2);
+            }
+            starts[runs] = start;
+            ends[runs++] = end;
+        }
+
+        private boolean isEmpty() {
+            return runs == 0;
+        }
+
+        private int getCardinality() {
+            int cardinality = 0;
+            for (int i = 0; i < runs; i++) {
+                cardinality += ends[i] - starts[i];
+            }
+            return cardinality;
+        }
+
+        @NotNull
+        private RunBitmap or(@NotNull RunBitmap other) {
+            RunBitmap result = new RunBitmap(new int[runs + other.runs + 1], new int[runs + other.runs + 1], 0);
+            int i = 0;
+            int j = 0;
+            while (i < runs || j < other.runs) {
+                int start;
+                int end;
+                if (j == other.runs || (i < runs && starts[i] <= other.starts[j])) {
+                    start = starts[i];
+                    end = ends[i++];
+                } else {
+                    start = other.starts[j];
+                    end = other.ends[j++];
+                }
+
+                if (result.runs > 0 && result.ends[result.runs - 1] >= start) {
+                    result.ends[result.runs - 1] = Math.max(result.ends[result.runs - 1], end);
+                } else {
+                    result.starts[result.runs] = start;
+                    result.ends[result.runs++] = end;
+                }
+            }
+            return result;
+        }
+
+        @NotNull
+        private RunBitmap and(@NotNull RunBitmap other) {
+            RunBitmap result = new RunBitmap(new int[Math.max(1, runs + other.runs)],
+                    new int[Math.max(1, runs + other.runs)], 0);
+            int i = 0;
+            int j = 0;
+            while (i < runs && j < other.runs) {
+                int start = Math.max(starts[i], other.starts[j]);
+                int end = Math.min(ends[i], other.ends[j]);
+                if (start < end) {
+                    result.starts[result.runs] = start;
+                    result.ends[result.runs++] = end;
+                }
+                if (ends[i] < other.ends[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fixed-width event count buckets of a ChronoSeries. Answers closed range counts
+ * (<code>[start, end]</code>) whose boundaries are aligned to the bucket width.
+ * <p>
+ * Bucket boundaries are numbered from a base boundary which lies before the series' begin
+ * timestamp. Besides the bucket counts, the amount of events occurring exactly on each
+ * boundary is kept, which allows closed ranges to be counted exactly.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class ChronoHistogram {
+
+    private final ChronoUnit chronoUnit;
+    private final long bucketNanos;
+    private final long baseNanos;
+    private final long beginNanos;
+    private final long endNanos;
+    private final long[] prefixCounts;
+    private final long[] boundaryCounts;
+
+    /**
+     * Creates ChronoHistogram from the given bucket counts.
+     *
+     * @param chronoUnit ChronoUnit of bucket width
+     * @param baseNanos base boundary (epoch nanoseconds); no events may occur at or before it
+     * @param beginNanos series begin (epoch nanoseconds)
+     * @param endNanos series end (epoch nanoseconds)
+     * @param bucketCounts event counts of <code>[boundary k, boundary k+1)</code>
+     * @param offsetBucketCounts event counts of <code>(boundary k, boundary k+1]</code>
+     */
+    ChronoHistogram(@NotNull ChronoUnit chronoUnit, long baseNanos, long beginNanos, long endNanos,
+                    @NotNull long[] bucketCounts, @NotNull long[] offsetBucketCounts) {
+        if (bucketCounts.length != offsetBucketCounts.length) {
+            throw new IllegalArgumentException("Bucket counts and offset bucket counts must be the same length");
+        }
+        this.chronoUnit = requireNonNull(chronoUnit);
+        this.bucketNanos = chronoUnit.getDuration().toNanos();
+        this.baseNanos = baseNanos;
+        this.beginNanos = beginNanos;
+        this.endNanos = endNanos;
+
+        //events on boundary k+1 = events on boundary k + (k, k+1] - [k, k+1)
+        int bucketCount = bucketCounts.length;
+        prefixCounts = new long[bucketCount + 1];
+        boundaryCounts = new long[bucketCount + 1];
+        for (int i = 0; i < bucketCount; i++) {
+            prefixCounts[i + 1] = prefixCounts[i] + bucketCounts[i];
+            boundaryCounts[i + 1] = boundaryCounts[i] + offsetBucketCounts[i] - bucketCounts[i];
+        }
+    }
+
+    /**
+     * Returns the ChronoUnit of the bucket width.
+     *
+     * @return bucket width ChronoUnit
+     */
+    @NotNull
+    ChronoUnit getChronoUnit() {
+        return chronoUnit;
+    }
+
+    /**
+     * Counts the events which occur in any of the given closed timestamp ranges.
+     *
+     * @param timestampRanges closed timestamp ranges
+     * @return amount of events; or -1 if a range boundary isn't aligned to the bucket width
+     */
+    long countEvents(@NotNull List<Instant[]> timestampRanges) {
+        List<int[]> boundaryRanges = new ArrayList<>(timestampRanges.size());
+        for (Instant[] timestampRange : timestampRanges) {
+            long startNanos = ChronoSeries.toEpochNanos(timestampRange[0]);
+            long endNanos = ChronoSeries.toEpochNanos(timestampRange[1]);
+            if (startNanos > endNanos || startNanos > this.endNanos || endNanos < beginNanos) {
+                continue; //contains no events
+            }
+
+            int startBoundary = startNanos <= beginNanos ? 0 : toBoundary(startNanos);
+            int endBoundary = endNanos >= this.endNanos ? prefixCounts.length - 1 : toBoundary(endNanos);
+            if (startBoundary < 0 || endBoundary < 0) {
+                return -1;
+            }
+            boundaryRanges.add(new int[]{startBoundary, endBoundary});
+        }
+        boundaryRanges.sort((o1, o2) -> Integer.compare(o1[0], o2[0]));
+
+        //merge overlapping closed ranges; ranges sharing a boundary overlap on it
+        long count = 0;
+        int[] current = null;
+        for (int[] boundaryRange : boundaryRanges) {
+            if (current != null && boundaryRange[0] <= current[1]) {
+                current[1] = Math.max(current[1], boundaryRange[1]);
+            } else {
+                if (current != null) {
+                    count += countEvents(current[0], current[1]);
+                }
+                current = boundaryRange.clone();
+            }
+        }
+        if (current != null) {
+            count += countEvents(current[0], current[1]);
+        }
+        return count;
+    }
+
+    private long countEvents(int startBoundary, int endBoundary) {
+        return prefixCounts[endBoundary] - prefixCounts[startBoundary] + boundaryCounts[endBoundary];
+    }
+
+    /**
+     * Returns the boundary at the given epoch nanoseconds; or -1 if not on a boundary.
+     */
+    private int toBoundary(long epochNanos) {
+        long offset = epochNanos - baseNanos;
+        if (offset % bucketNanos != 0 || offset / bucketNanos >= prefixCounts.length) {
+            return -1;
+        }
+        return (int) (offset / bucketNanos);
+    }
+
+}
@@ -1,29 +1,25 @@
 package io.chronetic.data;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import io.chronetic.data.measure.ChronoCalendar;
 import io.chronetic.data.measure.ChronoRange;
 import io.chronetic.data.measure.ChronoScale;
 import io.chronetic.data.measure.ChronoScaleUnit;
 import org.influxdb.InfluxDB;
-import org.influxdb.dto.Query;
-import org.influxdb.dto.QueryResult;
 import org.jenetics.util.RandomRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.UnsupportedTemporalTypeException;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
-import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -34,29 +30,33 @@ import static java.util.Objects.requireNonNull;
  * @since 1.0
  * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
  */
-public class ChronoSeries {
+public class ChronoSeries implements AutoCloseable {
 
     private final static Logger logger = LoggerFactory.getLogger(ChronoSeries.class);
+    private final static ChronoUnit[] SPAN_UNITS = {
+            ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES,
+            ChronoUnit.HOURS, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS,
+            ChronoUnit.DECADES, ChronoUnit.CENTURIES, ChronoUnit.MILLENNIA
+    };
 
-    private final Cache<ChronoRange, Integer> cachePatternCount = CacheBuilder.newBuilder()
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build();
-    private final Cache<Integer, Instant> timestampCache = CacheBuilder.newBuilder()
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build();
-    private final Cache<String, Instant[]> multiTimestampCache = CacheBuilder.newBuilder()
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build();
+    /**
+     * Amount of timestamps fetched per page for InfluxDB-backed series.
+     */
+    public static final int PAGE_SIZE = 4096;
+
+    /**
+     * Default memory budget (in bytes) of the page cache for InfluxDB-backed series.
+     */
+    public static final long DEFAULT_PAGE_CACHE_BUDGET = 64L * 1024 * 1024;
 
     private ChronoScale chronoScale;
     private Instant beginTimestamp;
-    private Instant endTimestamp;
-    private int size;
-    private List<Instant> seriesList;
-    private InfluxDB influxDB;
-    private String database;
-    private String table;
-    private String column;
+    private volatile Instant endTimestamp;
+    private ChronoSeriesSource source;
+    private boolean scaleUnitsDisabled;
+    private final Map<ChronoUnit, ChronoScaleUnit> spanDisabledUnits = new EnumMap<>(ChronoUnit.class);
+    private volatile CalendarCube calendarCube;
+    private volatile CalendarIndex calendarIndex;
 
     private ChronoSeries() {
         //suppresses default constructor
@@ -124,40 +124,10 @@ public class ChronoSeries {
         final LocalDateTime startTime = requireNonNull(chronoRange).getPatternStartLocalDateTime().orElse(getBeginLocalDateTime());
         final LocalDateTime endTime = requireNonNull(chronoRange).getPatternEndLocalDateTime().orElse(getEndLocalDateTime());
 
-        LocalDateTime patternStartTime = startTime;
-        LocalDateTime patternEndTime = endTime;
-        //truncate startTime to chronoUnit (start)
-        try {
-            patternStartTime = patternStartTime.truncatedTo(chronoUnit);
-        } catch (UnsupportedTemporalTypeException ex) {
-            if (chronoUnit == ChronoUnit.YEARS) {
-                //truncate to beginning of year
-                patternStartTime = patternStartTime.with(firstDayOfYear()).truncatedTo(ChronoUnit.DAYS);
-            } else if (chronoUnit == ChronoUnit.MONTHS) {
-                //truncate to beginning of month
-                patternStartTime = patternStartTime.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
-            } else {
-                //throw new UnsupportedOperationException();
-            }
-        }
-
-        //truncate endTime to chronoUnit (end)
-        try {
-            patternEndTime = patternEndTime.truncatedTo(chronoUnit);
-        } catch (UnsupportedTemporalTypeException ex) {
-            if (chronoUnit == ChronoUnit.YEARS) {
-                //truncate to beginning of year
-                patternEndTime = patternEndTime.with(firstDayOfYear()).truncatedTo(ChronoUnit.DAYS);
-            } else if (chronoUnit == ChronoUnit.MONTHS) {
-                //truncate to beginning of month
-                patternEndTime = patternEndTime.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
-            } else {
-                //throw new UnsupportedOperationException();
-            }
-        }
-        patternEndTime = patternEndTime.plus(1, chronoUnit);
-
-        return (int) chronoUnit.between(patternStartTime, patternEndTime);
+        //truncate startTime to chronoUnit (start); endTime to end of its chronoUnit
+        LocalDateTime patternStartTime = ChronoCalendar.truncate(startTime, chronoUnit);
+        LocalDateTime patternEndTime = ChronoCalendar.add(ChronoCalendar.truncate(endTime, chronoUnit), 1, chronoUnit);
+        return (int) ChronoCalendar.between(patternStartTime, patternEndTime, chronoUnit);
     }
 
     /**
@@ -167,99 +137,240 @@ public class ChronoSeries {
      * @return amount of time events that occur during the given ChronoRange
      */
     public int countEventsBetween(@NotNull ChronoRange chronoRange) {
-        Integer cacheCount = cachePatternCount.getIfPresent(requireNonNull(chronoRange));
+        CalendarIndex calendarIndex = this.calendarIndex;
+        if (calendarIndex != null) {
+            OptionalInt indexCount = calendarIndex.countEvents(requireNonNull(chronoRange));
+            if (indexCount.isPresent()) {
+                return indexCount.getAsInt();
+            }
+        }
+        CalendarCube calendarCube = this.calendarCube;
+        if (calendarCube != null) {
+            OptionalInt cubeCount = calendarCube.countEvents(requireNonNull(chronoRange));
+            if (cubeCount.isPresent()) {
+                return cubeCount.getAsInt();
+            }
+        }
+
+        Integer cacheCount = getCachedCount(requireNonNull(chronoRange));
         if (cacheCount != null) {
             return cacheCount;
-        } else if (chronoRange.getTimestampRanges().isEmpty()) {
+        } else if (chronoRange.getRangeCount() == 0) {
             return 0;
         } else {
             logger.debug("Counting events between: " + chronoRange);
         }
 
-        int count = 0;
-        if (seriesList != null) {
-            for (Instant timestamp : seriesList) {
-                if (chronoRange.containsTime(timestamp)) {
-                    count++;
-                }
-            }
-        } else {
-            List<Instant[]> timestampRanges = chronoRange.getTimestampRanges();
-            StringBuilder whereClause = new StringBuilder();
-            boolean first = true;
-            for (Instant[] timestampRange : timestampRanges) {
-                if (first) {
-                    whereClause = whereClause.append("(");
-                    first = false;
-                } else {
-                    whereClause = whereClause.append("OR (");
-                }
+        int count = source.countEvents(chronoRange);
+        getCountCache().put(chronoRange, new RangeCount(chronoRange, count));
+        return count;
+    }
 
-                long startTime = timestampRange[0].getEpochSecond();
-                startTime *= 1000000000L; //convert to nanoseconds
-                startTime += timestampRange[0].getNano();
+    /**
+     * Builds a calendar data cube of this ChronoSeries' events over its currently enabled ChronoScaleUnits.
+     * Afterwards {@link #countEventsBetween(ChronoRange)} counts ChronoRanges whose ChronoPatterns only use
+     * units of the cube by summing matching cells, independent of the series length. Cube counts are
+     * exact calendar field matches of the ChronoPattern sequence rather than counts of its timestamp ranges.
+     */
+    public void buildCalendarCube() {
+        calendarCube = CalendarCube.of(this);
+    }
 
-                long endTime = timestampRange[1].getEpochSecond();
-                endTime *= 1000000000L; //convert to nanoseconds
-                endTime += timestampRange[1].getNano();
+    /**
+     * Builds a calendar index of this ChronoSeries' events over its currently enabled ChronoScaleUnits.
+     * Every (ChronoUnit, temporal value) pair is indexed by a run-encoded bitmap of the matching series positions.
+     * Afterwards {@link #countEventsBetween(ChronoRange)} counts ChronoRanges whose ChronoPatterns only use
+     * indexed units by combining bitmaps, and {@link #isSharingEvents(ChronoRange, ChronoRange)} is answered exactly.
+     * Index counts are exact calendar field matches of the ChronoPattern sequence rather than counts of its
+     * timestamp ranges.
+     */
+    public void buildCalendarIndex() {
+        calendarIndex = CalendarIndex.of(this);
+    }
 
-                whereClause = whereClause.append("time >= ").append(startTime);
-                whereClause = whereClause.append(" AND ");
-                whereClause = whereClause.append("time <= ").append(endTime);
-                whereClause = whereClause.append(") ");
-            }
+    /**
+     * Determines whether any event of this ChronoSeries matches the ChronoPattern sequences of both given ChronoRanges.
+     * Only known once a calendar index has been built.
+     *
+     * @param chronoRange first ChronoRange
+     * @param otherChronoRange second ChronoRange
+     * @return whether the given ChronoRanges share events; empty if unknown
+     * @see #buildCalendarIndex()
+     */
+    @NotNull
+    public Optional<Boolean> isSharingEvents(@NotNull ChronoRange chronoRange, @NotNull ChronoRange otherChronoRange) {
+        CalendarIndex calendarIndex = this.calendarIndex;
+        if (calendarIndex == null) {
+            return Optional.empty();
+        }
+        return calendarIndex.isSharingEvents(requireNonNull(chronoRange), requireNonNull(otherChronoRange));
+    }
 
-            QueryResult queryResult = influxDB.query(new Query(String.format(
-                    "SELECT COUNT(%s) FROM \"%s\" WHERE %s",
-                    column, table, whereClause.toString()), database));
+    /**
+     * Determines whether the event count of the given ChronoRange is answered by a calendar index or cube
+     * rather than counted from its timestamp ranges.
+     *
+     * @param chronoRange desired ChronoRange
+     * @return whether the given ChronoRange is counted from a calendar index or cube
+     * @see #buildCalendarCube()
+     * @see #buildCalendarIndex()
+     */
+    public boolean isCalendarCounted(@NotNull ChronoRange chronoRange) {
+        CalendarIndex calendarIndex = this.calendarIndex;
+        CalendarCube calendarCube = this.calendarCube;
+        return (calendarIndex != null && calendarIndex.supports(requireNonNull(chronoRange)))
+                || (calendarCube != null && calendarCube.supports(requireNonNull(chronoRange)));
+    }
 
-            for (QueryResult.Result result : queryResult.getResults()) {
-                if (result.getSeries() != null) {
-                    Double dbCount = (Double) result.getSeries().get(0).getValues().get(0).get(1);
-                    count += dbCount.intValue();
+    /**
+     * Counts the number of time events that occur during each of the given ChronoRanges ahead of time.
+     * Uncached counts of sources which support batched counts (e.g. InfluxDB-backed series) are requested
+     * together so subsequent calls to {@link #countEventsBetween(ChronoRange)} are answered from cache.
+     *
+     * @param chronoRanges desired ChronoRanges
+     */
+    public void prefetchEventCounts(@NotNull Collection<ChronoRange> chronoRanges) {
+        if (!source.getCapabilities().contains(ChronoSeriesSource.Capability.BATCHED_COUNTS)) {
+            return; //counts are resolved directly
+        }
+
+        Set<ChronoRange> uncachedRanges = new LinkedHashSet<>();
+        for (ChronoRange chronoRange : requireNonNull(chronoRanges)) {
+            if (isCalendarCounted(chronoRange)) {
+                continue; //counted from calendar index/cube
+            } else if (getCachedCount(requireNonNull(chronoRange)) == null) {
+                if (chronoRange.getRangeCount() == 0) {
+                    getCountCache().put(chronoRange, new RangeCount(chronoRange, 0));
+                } else {
+                    uncachedRanges.add(chronoRange);
                 }
             }
         }
+        if (uncachedRanges.isEmpty()) {
+            return;
+        } else {
+            logger.debug("Prefetching event counts of " + uncachedRanges.size() + " ChronoRange(s)");
+        }
 
-        cachePatternCount.put(chronoRange, count);
-        return count;
+        List<ChronoRange> batchRanges = new ArrayList<>(uncachedRanges);
+        int[] counts = source.countEvents(batchRanges);
+        for (int i = 0; i < counts.length; i++) {
+            getCountCache().put(batchRanges.get(i), new RangeCount(batchRanges.get(i), counts[i]));
+        }
     }
 
     /**
-     * Returns the timestamp at the given series position.
+     * Appends the given timestamps to this in-memory ChronoSeries. Timestamps may be given in any order
+     * but must not precede the current end timestamp. Storage is extended in place and the ChronoScale
+     * is widened when necessary. Cached event counts are kept unless their ChronoRange reaches the previous
+     * end timestamp; ChronoRanges are recalculated for the new end timestamp on their next use.
+     * <p>
+     * Must not be called while this ChronoSeries is being analyzed.
      *
-     * @param seriesPosition desired position
-     * @return timestamp at given series position
+     * @param timestamps desired Instants to append
+     * @throws UnsupportedOperationException if this ChronoSeries isn't held in memory
+     * @throws IllegalArgumentException if a timestamp precedes the current end timestamp
+     */
+    public synchronized void append(@NotNull Instant... timestamps) {
+        if (!(source instanceof MemoryChronoSeriesSource)) {
+            throw new UnsupportedOperationException("Only in-memory ChronoSeries can be appended to");
+        } else if (timestamps.length == 0) {
+            return;
+        }
+
+        long[] epochNanos = new long[timestamps.length];
+        for (int i = 0; i < timestamps.length; i++) {
+            epochNanos[i] = toEpochNanos(requireNonNull(timestamps[i]));
+        }
+        Arrays.sort(epochNanos);
+
+        long previousEndNanos = toEpochNanos(endTimestamp);
+        if (epochNanos[0] < previousEndNanos) {
+            throw new IllegalArgumentException("Appended timestamps must not precede end timestamp: " + endTimestamp);
+        }
+        int previousSize = source.getSize();
+        ((MemoryChronoSeriesSource) source).append(epochNanos);
+        endTimestamp = toInstant(epochNanos[epochNanos.length - 1]);
+        if (scaleUnitsDisabled) {
+            enableSpannedUnits();
+        }
+        if (calendarCube != null) {
+            calendarCube = calendarCube.plus(source, previousSize, source.getSize());
+        }
+        if (calendarIndex != null) {
+            calendarIndex.append(source, previousSize, source.getSize());
+        }
+
+        //appended events can only be counted by ChronoRanges which reach the previous end timestamp (ranges are sorted)
+        getCountCache().asMap().values().removeIf(rangeCount -> {
+            ChronoRange chronoRange = rangeCount.chronoRange;
+            return chronoRange.isFullyConceptual() || (chronoRange.getRangeCount() > 0
+                    && chronoRange.getRangeEndNanos(chronoRange.getRangeCount() - 1) >= previousEndNanos);
+        });
+    }
+
+    /**
+     * Returns a view of the timestamps of this ChronoSeries between the given timestamps (inclusive).
+     * The view shares this ChronoSeries' storage and has its own begin/end timestamps and ChronoScale.
+     *
+     * @param from earliest timestamp of the view
+     * @param to latest timestamp of the view
+     * @return ChronoSeries view between the given timestamps
+     * @throws IllegalArgumentException if less than two timestamps are between the given timestamps
      */
     @NotNull
-    public Instant getTimestamp(int seriesPosition) {
-        Instant cacheTimestamp = timestampCache.getIfPresent(seriesPosition);
-        if (cacheTimestamp != null) {
-            return cacheTimestamp;
-        } else {
-            logger.debug("Getting timestamp at position: " + seriesPosition);
+    public ChronoSeries window(@NotNull Instant from, @NotNull Instant to) {
+        long fromNanos = toEpochNanos(requireNonNull(from));
+        long toNanos = toEpochNanos(requireNonNull(to));
+        if (fromNanos > toNanos) {
+            throw new IllegalArgumentException("Window start must not be after window end");
         }
 
-        Instant timestamp = null;
-        if (seriesList != null) {
-            timestamp = seriesList.get(seriesPosition);
-        } else {
-            QueryResult queryResult = influxDB.query(new Query(String.format(
-                    "SELECT %s FROM \"%s\" LIMIT 1 OFFSET %d",
-                    column, table, seriesPosition), database));
+        int startPosition = SourceSearch.search(source, fromNanos, 0, false);
+        int endPosition = SourceSearch.search(source, toNanos, startPosition, true);
+        return ofSource(true, new WindowChronoSeriesSource(source, startPosition, endPosition - startPosition));
+    }
 
-            for (QueryResult.Result result : queryResult.getResults()) {
-                String timeString = (String) result.getSeries().get(0).getValues().get(0).get(0);
-                timestamp = Instant.parse(timeString);
-            }
+    /**
+     * Returns a view of the timestamps of this ChronoSeries within the given duration before its end timestamp.
+     *
+     * @param duration desired duration
+     * @return ChronoSeries view of the given duration before the end timestamp
+     * @throws IllegalArgumentException if less than two timestamps are within the given duration
+     * @see #window(Instant, Instant)
+     */
+    @NotNull
+    public ChronoSeries lastN(@NotNull Duration duration) {
+        if (requireNonNull(duration).isNegative()) {
+            throw new IllegalArgumentException("Duration must not be negative");
         }
+        Instant end = endTimestamp;
+        return window(end.minus(duration), end);
+    }
 
-        if (timestamp != null) {
-            timestampCache.put(seriesPosition, timestamp);
-            return timestamp;
-        } else {
-            throw new IllegalStateException("Unable to determine timestamp at series position: " + seriesPosition);
+    /**
+     * Returns a copy of this ChronoSeries with its timestamps held delta-of-delta compressed.
+     * Compressed blocks are decoded on demand; nearly periodic series shrink considerably.
+     *
+     * @return compressed ChronoSeries
+     */
+    @NotNull
+    public ChronoSeries compressed() {
+        if (source instanceof CompressedChronoSeriesSource) {
+            return this;
         }
+        return ofSource(scaleUnitsDisabled, new CompressedChronoSeriesSource(source));
+    }
+
+    /**
+     * Returns the timestamp at the given series position.
+     *
+     * @param seriesPosition desired position
+     * @return timestamp at given series position
+     */
+    @NotNull
+    public Instant getTimestamp(int seriesPosition) {
+        return toInstant(source.getEpochNanos(seriesPosition));
     }
 
     /**
@@ -271,34 +382,14 @@ public class ChronoSeries {
      */
     @NotNull
     public Instant[] getTimestamps(int seriesPosition, int limit) {
-        Instant[] cacheTimestamps = multiTimestampCache.getIfPresent(seriesPosition + "/" + limit);
-        if (cacheTimestamps != null) {
-            return cacheTimestamps;
-        } else {
-            logger.debug("Getting multiple timestamps at position: " + seriesPosition + "; Limit: " + limit);
-        }
+        long[] epochNanos = new long[limit];
+        source.getEpochNanos(seriesPosition, epochNanos, limit);
 
-        Instant[] longArr = new Instant[limit];
-        if (seriesList != null) {
-            for (int i = 0; i < limit; i++) {
-                longArr[i] = seriesList.get(seriesPosition + i);
-            }
-        } else {
-            QueryResult queryResult = influxDB.query(new Query(String.format(
-                    "SELECT %s FROM \"%s\" LIMIT %d OFFSET %d",
-                    column, table, limit, seriesPosition), database));
-
-            int i = 0;
-            for (QueryResult.Result result : queryResult.getResults()) {
-                for (List<Object> values : result.getSeries().get(0).getValues()) {
-                    String timeString = (String) values.get(0);
-                    longArr[i++] = Instant.parse(timeString);
-                }
-            }
+        Instant[] timestamps = new Instant[limit];
+        for (int i = 0; i < limit; i++) {
+            timestamps[i] = toInstant(epochNanos[i]);
         }
-
-        multiTimestampCache.put(seriesPosition + "/" + limit, longArr);
-        return longArr;
+        return timestamps;
     }
 
     /**
@@ -307,7 +398,17 @@ public class ChronoSeries {
      * @return size of ChronoSeries
      */
     public int getSize() {
-        return size;
+        return source.getSize();
+    }
+
+    /**
+     * Returns the ChronoSeriesSource backing this ChronoSeries.
+     *
+     * @return ChronoSeries' underlying ChronoSeriesSource
+     */
+    @NotNull
+    public ChronoSeriesSource getSource() {
+        return source;
     }
 
     /**
@@ -322,6 +423,17 @@ public class ChronoSeries {
         return Duration.between(startDate, endDate);
     }
 
+    /**
+     * Writes this ChronoSeries to the given path as a ChronoSeries file.
+     * Written files can be opened with {@link #of(Path)}.
+     *
+     * @param path desired file path
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(@NotNull Path path) throws IOException {
+        ChronoSeriesFile.write(source, requireNonNull(path));
+    }
+
     /**
      * Create a ChronoSeries from the given frequency information.
      *
@@ -401,19 +513,56 @@ public class ChronoSeries {
             throw new IllegalArgumentException("ChronoSeries requires at least two elements to initiate");
         }
 
-        ChronoSeries series = new ChronoSeries();
-        series.chronoScale = new ChronoScale();
+        //stored as sorted epoch nanoseconds; avoids holding an Instant per timestamp
+        long[] epochNanos = new long[timestampSeries.length];
+        for (int i = 0; i < timestampSeries.length; i++) {
+            epochNanos[i] = toEpochNanos(requireNonNull(timestampSeries[i]));
+        }
+        return ofSource(disableScaleUnits, new MemoryChronoSeriesSource(epochNanos));
+    }
 
-        series.seriesList = new ArrayList<>(timestampSeries.length);
-        series.seriesList.addAll(Arrays.asList(timestampSeries));
+    /**
+     * Create ChronoSeries backed by the given ChronoSeriesSource.
+     * Allows plugging in custom backing stores; the source's timestamps must be sorted.
+     *
+     * @param source desired ChronoSeriesSource
+     * @return ChronoSeries backed by the given ChronoSeriesSource
+     */
+    @NotNull
+    public static ChronoSeries of(@NotNull ChronoSeriesSource source) {
+        return ofSource(true, requireNonNull(source));
+    }
 
-        series.beginTimestamp = series.seriesList.get(0);
-        series.endTimestamp = series.seriesList.get(series.seriesList.size() - 1);
-        series.size = series.seriesList.size();
+    /**
+     * Create ChronoSeries from pre-aggregated event counts. Each bucket contributes its count of events,
+     * all occurring at the bucket's start; only one timestamp and count is stored per bucket.
+     *
+     * @param bucketStarts strictly increasing bucket starts as epoch values of bucketUnit (e.g. epoch seconds)
+     * @param counts amount of events per bucket
+     * @param bucketUnit ChronoUnit of bucket starts (NANOS through DAYS)
+     * @return ChronoSeries of the given bucket counts
+     */
+    @NotNull
+    public static ChronoSeries ofCounts(@NotNull long[] bucketStarts, @NotNull int[] counts, @NotNull ChronoUnit bucketUnit) {
+        return ofSource(true, new CountsChronoSeriesSource(bucketStarts, counts, bucketUnit));
+    }
+
+    @NotNull
+    private static ChronoSeries ofSource(boolean disableScaleUnits, @NotNull ChronoSeriesSource source) {
+        if (source.getSize() < 2) {
+            throw new IllegalArgumentException("ChronoSeries requires at least two elements to initiate");
+        }
+
+        ChronoSeries series = new ChronoSeries();
+        series.chronoScale = new ChronoScale();
+        series.source = source;
+        series.beginTimestamp = toInstant(source.getBeginEpochNanos());
+        series.endTimestamp = toInstant(source.getEndEpochNanos());
 
         //todo: calculate ChronoScale
         LocalDateTime startDate = series.beginTimestamp.atZone(ZoneOffset.UTC).toLocalDateTime();
         LocalDateTime endDate = series.endTimestamp.atZone(ZoneOffset.UTC).toLocalDateTime();
+        series.scaleUnitsDisabled = disableScaleUnits;
         if (disableScaleUnits) {
             disableUnnecessaryUnits(series, startDate, endDate);
         } else {
@@ -435,6 +584,80 @@ public class ChronoSeries {
         return series;
     }
 
+    /**
+     * Create a local snapshot ChronoSeries with the given InfluxDB information.
+     * The whole measurement is streamed once using chunked responses; all further
+     * operations on the snapshot run locally. The snapshot can be brought up to date
+     * with {@link #refresh()}.
+     *
+     * @param influxDB InfluxDB instance
+     * @param database database name
+     * @param table table name
+     * @param column column name
+     * @return local snapshot ChronoSeries of the given InfluxDB information
+     */
+    @NotNull
+    public static ChronoSeries materialize(@NotNull InfluxDB influxDB,
+                                           @NotNull String database, @NotNull String table, @NotNull String column) {
+        return ofSource(true, MaterializedChronoSeriesSource.materialize(influxDB, database, table, column));
+    }
+
+    /**
+     * Create local snapshot ChronoSeries for each value of the given tag with the given InfluxDB information.
+     * The whole measurement is streamed once (grouped by tag) using chunked responses. Tag values with
+     * less than two distinct timestamps are skipped. Each snapshot can be brought up to date with {@link #refresh()}.
+     *
+     * @param influxDB InfluxDB instance
+     * @param database database name
+     * @param table table name
+     * @param column column name
+     * @param tagKey tag to partition by
+     * @return local snapshot ChronoSeries by tag value
+     */
+    @NotNull
+    public static Map<String, ChronoSeries> materializeByTag(@NotNull InfluxDB influxDB, @NotNull String database,
+                                                             @NotNull String table, @NotNull String column,
+                                                             @NotNull String tagKey) {
+        Map<String, ChronoSeries> seriesMap = new TreeMap<>();
+        MaterializedChronoSeriesSource.materializeByTag(influxDB, database, table, column, tagKey)
+                .forEach((tagValue, source) -> seriesMap.put(tagValue, ofSource(true, source)));
+        return seriesMap;
+    }
+
+    /**
+     * Returns a snapshot of this materialized ChronoSeries which additionally contains
+     * the timestamps stored in InfluxDB after this ChronoSeries' end timestamp.
+     * Only the newer timestamps are fetched.
+     *
+     * @return refreshed ChronoSeries; or this ChronoSeries if no newer timestamps exist
+     * @see #materialize(InfluxDB, String, String, String)
+     */
+    @NotNull
+    public ChronoSeries refresh() {
+        if (!(source instanceof MaterializedChronoSeriesSource)) {
+            throw new UnsupportedOperationException("Only materialized ChronoSeries can be refreshed");
+        }
+
+        MaterializedChronoSeriesSource refreshedSource = ((MaterializedChronoSeriesSource) source).refresh();
+        if (refreshedSource == source) {
+            return this;
+        }
+        return ofSource(true, refreshedSource);
+    }
+
+    /**
+     * Create ChronoSeries from the given ChronoSeries file.
+     * Timestamps are read directly from a memory mapping of the file.
+     *
+     * @param path ChronoSeries file path
+     * @return ChronoSeries backed by the given file
+     * @throws IOException if the file could not be read or is not a valid ChronoSeries file
+     */
+    @NotNull
+    public static ChronoSeries of(@NotNull Path path) throws IOException {
+        return ofSource(true, new MappedChronoSeriesSource(ChronoSeriesFile.map(requireNonNull(path))));
+    }
+
     /**
      * Create ChronoSeries with the given InfluxDB information.
      *
@@ -447,50 +670,85 @@ public class ChronoSeries {
     @NotNull
     public static ChronoSeries of(@NotNull InfluxDB influxDB,
                                   @NotNull String database, @NotNull String table, @NotNull String column) {
-        ChronoSeries series = new ChronoSeries();
-        series.chronoScale = new ChronoScale();
-        series.influxDB = requireNonNull(influxDB);
-        series.database = requireNonNull(database);
-        series.table = requireNonNull(table);
-        series.column = requireNonNull(column);
-        influxDB.setDatabase(database);
-
-        //general info
-        QueryResult queryResult = series.influxDB.query(new Query(String.format(
-                "SELECT COUNT(\"%s\") FROM \"%s\"",
-                column, table), database));
-
-        for (QueryResult.Result result : queryResult.getResults()) {
-            series.size = ((Double) result.getSeries().get(0).getValues().get(0).get(1)).intValue();
-            if (series.size < 2) {
-                throw new IllegalStateException("ChronoSeries requires at least two elements to initiate");
-            }
-        }
+        return of(influxDB, database, table, column, DEFAULT_PAGE_CACHE_BUDGET);
+    }
 
-        queryResult = series.influxDB.query(new Query(String.format(
-                "SELECT FIRST(\"%s\") FROM \"%s\"",
-                column, table), database));
+    /**
+     * Create ChronoSeries with the given InfluxDB information.
+     * Timestamps are fetched in pages of {@link #PAGE_SIZE} and kept in a
+     * least-recently-used cache limited to the given memory budget.
+     *
+     * @param influxDB InfluxDB instance
+     * @param database database name
+     * @param table table name
+     * @param column column name
+     * @param pageCacheBudget page cache memory budget (in bytes)
+     * @return ChronoSeries from the given InfluxDB information
+     */
+    @NotNull
+    public static ChronoSeries of(@NotNull InfluxDB influxDB, @NotNull String database, @NotNull String table,
+                                  @NotNull String column, long pageCacheBudget) {
+        InfluxChronoSeriesSource source = new InfluxChronoSeriesSource(influxDB, database, table, column, pageCacheBudget);
+        ChronoSeries series = ofSource(true, source);
+        source.setChronoScale(series.chronoScale);
+        return series;
+    }
 
-        for (QueryResult.Result result : queryResult.getResults()) {
-            String timeString = (String) result.getSeries().get(0).getValues().get(0).get(0);
-            series.beginTimestamp = Instant.parse(timeString);
-        }
+    /**
+     * Releases the cached ChronoRanges, ChronoScaleUnits and event counts of this ChronoSeries.
+     * The ChronoSeries remains usable; caches are filled again on use.
+     *
+     * @see CacheRegistry
+     */
+    @Override
+    public void close() {
+        CacheRegistry.release(this);
+    }
 
-        queryResult = series.influxDB.query(new Query(String.format(
-                "SELECT LAST(\"%s\") FROM \"%s\"",
-                column, table), database));
+    @NotNull
+    private Cache<ChronoRange, RangeCount> getCountCache() {
+        return CacheRegistry.getCache(this, CacheRegistry.Region.EVENT_COUNTS);
+    }
 
-        for (QueryResult.Result result : queryResult.getResults()) {
-            String timeString = (String) result.getSeries().get(0).getValues().get(0).get(0);
-            series.endTimestamp = Instant.parse(timeString);
+    /**
+     * Returns the cached event count of the given ChronoRange. ChronoRanges are recalculated once the series
+     * grows; counts of an equal ChronoRange are only reused if its timestamp ranges are unchanged.
+     *
+     * @return cached event count; or null if not cached
+     */
+    private Integer getCachedCount(@NotNull ChronoRange chronoRange) {
+        RangeCount rangeCount = getCountCache().getIfPresent(chronoRange);
+        if (rangeCount == null) {
+            return null;
+        } else if (rangeCount.chronoRange != chronoRange) {
+            ChronoRange cacheRange = rangeCount.chronoRange;
+            if (chronoRange.getRangeCount() != cacheRange.getRangeCount()) {
+                return null;
+            }
+            for (int i = 0; i < chronoRange.getRangeCount(); i++) {
+                long endNanos = chronoRange.getRangeEndNanos(i);
+                if (chronoRange.getRangeStartNanos(i) != cacheRange.getRangeStartNanos(i)
+                        || endNanos != cacheRange.getRangeEndNanos(i)
+                        || chronoRange.isEndingTimestampIncluded(endNanos) != cacheRange.isEndingTimestampIncluded(endNanos)) {
+                    return null;
+                }
+            }
+            getCountCache().put(chronoRange, new RangeCount(chronoRange, rangeCount.count));
         }
+        return rangeCount.count;
+    }
 
-        //todo: calculate ChronoScale
-        LocalDateTime startDate = series.beginTimestamp.atZone(ZoneOffset.UTC).toLocalDateTime();
-        LocalDateTime endDate = series.endTimestamp.atZone(ZoneOffset.UTC).toLocalDateTime();
-        disableUnnecessaryUnits(series, startDate, endDate);
+    static long toEpochNanos(@NotNull Instant timestamp) {
+        try {
+            return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), 1_000_000_000L), timestamp.getNano());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Timestamp outside of supported range: " + timestamp);
+        }
+    }
 
-        return series;
+    @NotNull
+    static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
     }
 
     private static void disableUnnecessaryUnits(@NotNull ChronoSeries series,
@@ -629,42 +887,95 @@ public class ChronoSeries {
         }
     }
 
+    /**
+     * Enables the ChronoScaleUnits which were disabled as unnecessary for the previous series span but
+     * are factual for the current one. Enabled units and units disabled since (e.g. by Chronetic) are kept.
+     */
+    private void enableSpannedUnits() {
+        ChronoUnit largestFactualUnit = getLargestFactualUnit(getBeginLocalDateTime(), getEndLocalDateTime());
+        spanDisabledUnits.entrySet().removeIf(entry -> {
+            ChronoUnit chronoUnit = entry.getKey();
+            if (chronoUnit == ChronoUnit.HALF_DAYS || chronoUnit.compareTo(largestFactualUnit) > 0) {
+                return false; //still unnecessary
+            }
+
+            if (chronoScale.getChronoScaleUnit(chronoUnit) == entry.getValue()) {
+                chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asFactual(this, chronoUnit));
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Returns the largest ChronoUnit made factual by {@link #disableUnnecessaryUnits(ChronoSeries, LocalDateTime, LocalDateTime)}
+     * for the given series span.
+     */
+    @NotNull
+    private static ChronoUnit getLargestFactualUnit(@NotNull LocalDateTime startDate, @NotNull LocalDateTime endDate) {
+        for (int i = 1; i < SPAN_UNITS.length; i++) {
+            if (SPAN_UNITS[i].between(startDate, endDate) == 0) {
+                return SPAN_UNITS[i - 1];
+            }
+        }
+        throw new UnsupportedOperationException("Unable to disable");
+    }
+
+    private static void disableSpanUnit(@NotNull ChronoUnit chronoUnit, @NotNull ChronoSeries series) {
+        ChronoScaleUnit disabledUnit = ChronoScaleUnit.asDisabled(chronoUnit);
+        series.chronoScale.updateChronoScaleUnit(disabledUnit);
+        series.spanDisabledUnits.put(chronoUnit, disabledUnit);
+    }
+
     private static void disableBiggerThan(@NotNull ChronoUnit chronoUnit, @NotNull ChronoSeries series) {
         switch (requireNonNull(chronoUnit)) {
             case NANOS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MICROS));
+                disableSpanUnit(ChronoUnit.MICROS, series);
             case MICROS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MILLIS));
+                disableSpanUnit(ChronoUnit.MILLIS, series);
             case MILLIS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.SECONDS));
+                disableSpanUnit(ChronoUnit.SECONDS, series);
             case SECONDS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MINUTES));
+                disableSpanUnit(ChronoUnit.MINUTES, series);
             case MINUTES:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.HOURS));
+                disableSpanUnit(ChronoUnit.HOURS, series);
             case HOURS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.HALF_DAYS));
+                disableSpanUnit(ChronoUnit.HALF_DAYS, series);
             case HALF_DAYS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.DAYS));
+                disableSpanUnit(ChronoUnit.DAYS, series);
             case DAYS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.WEEKS));
+                disableSpanUnit(ChronoUnit.WEEKS, series);
             case WEEKS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MONTHS));
+                disableSpanUnit(ChronoUnit.MONTHS, series);
             case MONTHS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.YEARS));
+                disableSpanUnit(ChronoUnit.YEARS, series);
             case YEARS:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.DECADES));
+                disableSpanUnit(ChronoUnit.DECADES, series);
             case DECADES:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.CENTURIES));
+                disableSpanUnit(ChronoUnit.CENTURIES, series);
             case CENTURIES:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.MILLENNIA));
+                disableSpanUnit(ChronoUnit.MILLENNIA, series);
             case MILLENNIA:
-                series.chronoScale.updateChronoScaleUnit(ChronoScaleUnit.asDisabled(ChronoUnit.ERAS));
+                disableSpanUnit(ChronoUnit.ERAS, series);
                 break;
             default:
                 throw new UnsupportedOperationException("Unable to disable bigger than unit: " + chronoUnit);
         }
     }
 
+    /**
+     * Event count of a ChronoRange along with the ChronoRange it was counted for.
+     */
+    private static final class RangeCount {
+
+        private final ChronoRange chronoRange;
+        private final int count;
+
+        private RangeCount(@NotNull ChronoRange chronoRange, int count) {
+            this.chronoRange = chronoRange;
+            this.count = count;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("ChronoSeries: { Start: %s - End: %s ; Size: %d }",
@@ -0,0 +1,112 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads and writes the ChronoSeries file format. A file consists of a 16 byte header
+ * (magic, version, timestamp count) followed by the series' timestamps as sorted
+ * little-endian epoch nanoseconds.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class ChronoSeriesFile {
+
+    static final int SEGMENT_SHIFT = 27; //2^27 timestamps (1 GiB) per mapping
+    static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final int MAGIC = 0x4E524843; //"CHRN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int WRITE_BLOCK_SIZE = 8192;
+
+    private ChronoSeriesFile() {
+        //suppresses default constructor
+    }
+
+    /**
+     * Memory-maps the timestamps of the given ChronoSeries file.
+     * Mappings are split into segments as a single mapping is limited to 2 GiB.
+     *
+     * @param path ChronoSeries file path
+     * @return mapped timestamp segments
+     * @throws IOException if the file could not be read or is not a valid ChronoSeries file
+     */
+    @NotNull
+    static LongBuffer[] map(@NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(requireNonNull(path), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1) {
+                    throw new IOException("Invalid ChronoSeries file: " + path);
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Invalid ChronoSeries file: " + path);
+            }
+            long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE || channel.size() < HEADER_BYTES + count * Long.BYTES) {
+                throw new IOException("Invalid ChronoSeries file: " + path);
+            }
+
+            int segmentCount = (int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            LongBuffer[] segments = new LongBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long segmentStart = (long) i << SEGMENT_SHIFT;
+                long segmentLength = Math.min(count - segmentStart, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + segmentStart * Long.BYTES, segmentLength * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+            return segments;
+        }
+    }
+
+    /**
+     * Writes the timestamps of the given ChronoSeriesSource to the given path, replacing any existing file.
+     *
+     * @param source ChronoSeriesSource to write
+     * @param path ChronoSeries file path
+     * @throws IOException if the file could not be written
+     */
+    static void write(@NotNull ChronoSeriesSource source, @NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(requireNonNull(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            int size = requireNonNull(source).getSize();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BLOCK_SIZE * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(size).flip();
+            writeFully(channel, buffer);
+
+            long[] block = new long[WRITE_BLOCK_SIZE];
+            for (int position = 0; position < size; position += WRITE_BLOCK_SIZE) {
+                int length = Math.min(WRITE_BLOCK_SIZE, size - position);
+                source.getEpochNanos(position, block, length);
+
+                buffer.clear();
+                buffer.asLongBuffer().put(block, 0, length);
+                buffer.limit(length * Long.BYTES);
+                writeFully(channel, buffer);
+            }
+        }
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
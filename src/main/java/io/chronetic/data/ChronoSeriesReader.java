@@ -0,0 +1,604 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads ChronoSeries from timestamp dumps (CSV, newline-delimited ISO-8601 or InfluxDB line protocol).
+ * Input is split into chunks on line boundaries which are parsed in parallel directly into epoch nanoseconds;
+ * timestamps are sorted once all chunks have been parsed.
+ * <p>
+ * Textual timestamps must be ISO-8601 instants (e.g. <code>2017-07-30T14:14:00Z</code>); numeric timestamps
+ * are epoch values in the configured precision.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+public class ChronoSeriesReader {
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        /**
+         * Delimiter-separated values; timestamps are read from a single column.
+         */
+        CSV,
+        /**
+         * One timestamp per line.
+         */
+        ISO_LINES,
+        /**
+         * InfluxDB line protocol; timestamps are read from the end of each line.
+         */
+        LINE_PROTOCOL
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 32 * 1024 * 1024;
+
+    private final Format format;
+    private int column = 0;
+    private char delimiter = ',';
+    private boolean header = false;
+    private byte[] measurement;
+    private long precisionNanos = 1;
+    private boolean distinct = false;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private ChronoSeriesReader(@NotNull Format format) {
+        this.format = requireNonNull(format);
+    }
+
+    /**
+     * Create ChronoSeriesReader for CSV input.
+     *
+     * @return CSV ChronoSeriesReader
+     */
+    @NotNull
+    public static ChronoSeriesReader csv() {
+        return new ChronoSeriesReader(Format.CSV);
+    }
+
+    /**
+     * Create ChronoSeriesReader for newline-delimited ISO-8601 timestamps.
+     *
+     * @return ISO-8601 lines ChronoSeriesReader
+     */
+    @NotNull
+    public static ChronoSeriesReader isoLines() {
+        return new ChronoSeriesReader(Format.ISO_LINES);
+    }
+
+    /**
+     * Create ChronoSeriesReader for InfluxDB line protocol.
+     *
+     * @return line protocol ChronoSeriesReader
+     */
+    @NotNull
+    public static ChronoSeriesReader lineProtocol() {
+        return new ChronoSeriesReader(Format.LINE_PROTOCOL);
+    }
+
+    /**
+     * Returns the input format of this ChronoSeriesReader.
+     *
+     * @return input format
+     */
+    @NotNull
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Set CSV column (zero-based) containing the timestamps. Defaults to the first column.
+     *
+     * @param column timestamp column
+     */
+    @NotNull
+    public ChronoSeriesReader column(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column must not be negative");
+        }
+        this.column = column;
+        return this;
+    }
+
+    /**
+     * Set CSV delimiter. Defaults to comma.
+     *
+     * @param delimiter column delimiter
+     */
+    @NotNull
+    public ChronoSeriesReader delimiter(char delimiter) {
+        if (delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Set whether the first line of CSV input is a header to skip.
+     *
+     * @param header whether input starts with a header line
+     */
+    @NotNull
+    public ChronoSeriesReader header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * Set line protocol measurement (as written in line protocol) to read; lines of other measurements are skipped.
+     * Defaults to reading all lines.
+     *
+     * @param measurement measurement to read
+     */
+    @NotNull
+    public ChronoSeriesReader measurement(@NotNull String measurement) {
+        this.measurement = requireNonNull(measurement).getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Set precision of numeric timestamps. Defaults to nanoseconds.
+     *
+     * @param precision ChronoUnit of numeric timestamps (NANOS through HOURS)
+     */
+    @NotNull
+    public ChronoSeriesReader precision(@NotNull ChronoUnit precision) {
+        if (requireNonNull(precision).compareTo(ChronoUnit.HOURS) > 0) {
+            throw new IllegalArgumentException("Unsupported precision: " + precision);
+        }
+        this.precisionNanos = precision.getDuration().toNanos();
+        return this;
+    }
+
+    /**
+     * Set whether duplicate timestamps are removed. Defaults to keeping duplicates (one event each).
+     *
+     * @param distinct whether to remove duplicate timestamps
+     */
+    @NotNull
+    public ChronoSeriesReader distinct(boolean distinct) {
+        this.distinct = distinct;
+        return this;
+    }
+
+    /**
+     * Set size (in bytes) of the chunks parsed in parallel.
+     *
+     * @param chunkSize chunk size in bytes
+     */
+    @NotNull
+    public ChronoSeriesReader chunkSize(int chunkSize) {
+        if (chunkSize < 1024) {
+            throw new IllegalArgumentException("Chunk size must be at least 1024 bytes");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Set executor used to parse chunks.
+     *
+     * @param executor parsing executor
+     */
+    @NotNull
+    public ChronoSeriesReader executor(@NotNull Executor executor) {
+        this.executor = requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Read ChronoSeries from the given file. Chunks of the file are memory-mapped and parsed in parallel.
+     *
+     * @param path file to read
+     * @return ChronoSeries with the timestamps of the given file
+     * @throws IOException if the file could not be read
+     * @throws IllegalArgumentException if a line could not be parsed
+     */
+    @NotNull
+    public ChronoSeries read(@NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(requireNonNull(path), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            List<CompletableFuture<EpochNanosBuffer>> chunks = new ArrayList<>();
+            long chunkStart = 0;
+            while (chunkStart < fileSize) {
+                long chunkEnd = nextLineStart(channel, Math.min(fileSize, chunkStart + chunkSize), fileSize);
+                long start = chunkStart;
+                boolean skipFirstLine = header && start == 0;
+                chunks.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, chunkEnd - start);
+                        return parseChunk(buffer, 0, buffer.limit(), skipFirstLine);
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, executor));
+                chunkStart = chunkEnd;
+            }
+
+            List<EpochNanosBuffer> results = new ArrayList<>(chunks.size());
+            try {
+                for (CompletableFuture<EpochNanosBuffer> chunk : chunks) {
+                    results.add(chunk.join());
+                }
+            } catch (CompletionException ex) {
+                chunks.forEach(chunk -> chunk.cancel(false));
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw unwrap(ex);
+            }
+            return toChronoSeries(results);
+        }
+    }
+
+    /**
+     * Read ChronoSeries from the given InputStream. The stream is read sequentially;
+     * chunks are parsed in parallel as they are read. The stream is not closed.
+     *
+     * @param inputStream stream to read
+     * @return ChronoSeries with the timestamps of the given stream
+     * @throws IOException if the stream could not be read
+     * @throws IllegalArgumentException if a line could not be parsed
+     */
+    @NotNull
+    public ChronoSeries read(@NotNull InputStream inputStream) throws IOException {
+        requireNonNull(inputStream);
+        int maxPendingChunks = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        Deque<CompletableFuture<EpochNanosBuffer>> pendingChunks = new ArrayDeque<>();
+        List<EpochNanosBuffer> results = new ArrayList<>();
+
+        try {
+            byte[] block = new byte[chunkSize];
+            int length = 0;
+            boolean firstChunk = true;
+            while (true) {
+                int read = inputStream.read(block, length, block.length - length);
+                if (read == -1) {
+                    break;
+                }
+                length += read;
+                if (length < block.length) {
+                    continue;
+                }
+
+                //hand off complete lines; carry the incomplete last line over to the next block
+                int chunkEnd = length;
+                while (chunkEnd > 0 && block[chunkEnd - 1] != '\n') {
+                    chunkEnd--;
+                }
+                if (chunkEnd == 0) {
+                    block = Arrays.copyOf(block, block.length * 2); //line longer than block
+                    continue;
+                }
+
+                byte[] nextBlock = new byte[Math.max(chunkSize, length - chunkEnd)];
+                System.arraycopy(block, chunkEnd, nextBlock, 0, length - chunkEnd);
+                submitChunk(pendingChunks, results, maxPendingChunks, block, chunkEnd, firstChunk);
+                block = nextBlock;
+                length -= chunkEnd;
+                firstChunk = false;
+            }
+            if (length > 0) {
+                submitChunk(pendingChunks, results, maxPendingChunks, block, length, firstChunk);
+            }
+
+            while (!pendingChunks.isEmpty()) {
+                results.add(pendingChunks.poll().join());
+            }
+        } catch (CompletionException ex) {
+            pendingChunks.forEach(chunk -> chunk.cancel(false));
+            throw unwrap(ex);
+        }
+        return toChronoSeries(results);
+    }
+
+    private void submitChunk(@NotNull Deque<CompletableFuture<EpochNanosBuffer>> pendingChunks,
+                             @NotNull List<EpochNanosBuffer> results, int maxPendingChunks,
+                             @NotNull byte[] block, int length, boolean firstChunk) {
+        boolean skipFirstLine = header && firstChunk;
+        pendingChunks.add(CompletableFuture.supplyAsync(
+                () -> parseChunk(ByteBuffer.wrap(block), 0, length, skipFirstLine), executor));
+
+        //limit memory held by parsed-ahead chunks
+        while (pendingChunks.size() > maxPendingChunks) {
+            results.add(pendingChunks.poll().join());
+        }
+    }
+
+    @NotNull
+    private ChronoSeries toChronoSeries(@NotNull List<EpochNanosBuffer> results) {
+        int size = 0;
+        for (EpochNanosBuffer result : results) {
+            size = Math.addExact(size, result.size);
+        }
+
+        long[] epochNanos = new long[size];
+        int position = 0;
+        boolean sorted = true;
+        for (EpochNanosBuffer result : results) {
+            System.arraycopy(result.epochNanos, 0, epochNanos, position, result.size);
+            position += result.size;
+        }
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = epochNanos[i - 1] <= epochNanos[i];
+        }
+        if (!sorted) {
+            Arrays.parallelSort(epochNanos);
+        }
+
+        if (distinct && size > 0) {
+            int distinctSize = 1;
+            for (int i = 1; i < size; i++) {
+                if (epochNanos[i] != epochNanos[distinctSize - 1]) {
+                    epochNanos[distinctSize++] = epochNanos[i];
+                }
+            }
+            epochNanos = Arrays.copyOf(epochNanos, distinctSize);
+        }
+        return ChronoSeries.of(new MemoryChronoSeriesSource(epochNanos));
+    }
+
+    /**
+     * Parses the complete lines of the given buffer between the given indexes.
+     */
+    @NotNull
+    private EpochNanosBuffer parseChunk(@NotNull ByteBuffer buffer, int start, int end, boolean skipFirstLine) {
+        ByteSequence text = new ByteSequence(buffer);
+        EpochNanosBuffer result = new EpochNanosBuffer(Math.max(16, (end - start) / 32));
+        int lineStart = start;
+        boolean skipLine = skipFirstLine;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int nextLineStart = lineEnd + 1;
+
+            //trim whitespace (and carriage return)
+            while (lineEnd > lineStart && buffer.get(lineEnd - 1) <= ' ') {
+                lineEnd--;
+            }
+            while (lineStart < lineEnd && buffer.get(lineStart) <= ' ') {
+                lineStart++;
+            }
+
+            if (skipLine) {
+                skipLine = false;
+            } else if (lineStart < lineEnd) {
+                switch (format) {
+                    case CSV:
+                        parseCsvLine(text, lineStart, lineEnd, result);
+                        break;
+                    case ISO_LINES:
+                        result.add(parseTimestamp(text, lineStart, lineEnd));
+                        break;
+                    case LINE_PROTOCOL:
+                        parseLineProtocolLine(text, lineStart, lineEnd, result);
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("Unsupported format: " + format);
+                }
+            }
+            lineStart = nextLineStart;
+        }
+        return result;
+    }
+
+    private void parseCsvLine(@NotNull ByteSequence text, int lineStart, int lineEnd, @NotNull EpochNanosBuffer result) {
+        int fieldStart = lineStart;
+        int currentColumn = 0;
+        boolean quoted = false;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            char c = i < lineEnd ? text.charAt(i) : delimiter;
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == delimiter && (!quoted || i == lineEnd)) {
+                if (currentColumn == column) {
+                    int fieldEnd = i;
+                    while (fieldStart < fieldEnd && text.charAt(fieldStart) == ' ') {
+                        fieldStart++;
+                    }
+                    while (fieldEnd > fieldStart && text.charAt(fieldEnd - 1) == ' ') {
+                        fieldEnd--;
+                    }
+                    if (fieldEnd - fieldStart >= 2 && text.charAt(fieldStart) == '"' && text.charAt(fieldEnd - 1) == '"') {
+                        fieldStart++;
+                        fieldEnd--;
+                    }
+                    result.add(parseTimestamp(text, fieldStart, fieldEnd));
+                    return;
+                }
+                currentColumn++;
+                fieldStart = i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Missing timestamp column " + column + ": " + text.subSequence(lineStart, lineEnd));
+    }
+
+    private void parseLineProtocolLine(@NotNull ByteSequence text, int lineStart, int lineEnd,
+                                       @NotNull EpochNanosBuffer result) {
+        if (text.charAt(lineStart) == '#') {
+            return; //comment
+        }
+        if (measurement != null) {
+            //measurement ends at the first unescaped comma or space
+            int i = lineStart;
+            while (i < lineEnd && text.charAt(i) != ',' && text.charAt(i) != ' ') {
+                i += text.charAt(i) == '\\' ? 2 : 1;
+            }
+            if (i - lineStart != measurement.length) {
+                return;
+            }
+            for (int j = 0; j < measurement.length; j++) {
+                if (text.byteAt(lineStart + j) != measurement[j]) {
+                    return;
+                }
+            }
+        }
+
+        int timestampStart = lineEnd;
+        while (timestampStart > lineStart && text.charAt(timestampStart - 1) != ' ') {
+            timestampStart--;
+        }
+        if (timestampStart == lineStart || !isNumeric(text, timestampStart, lineEnd)) {
+            throw new IllegalArgumentException("Line protocol entry without timestamp: " + text.subSequence(lineStart, lineEnd));
+        }
+        result.add(parseNumeric(text, timestampStart, lineEnd));
+    }
+
+    private long parseTimestamp(@NotNull ByteSequence text, int start, int end) {
+        if (isNumeric(text, start, end)) {
+            return parseNumeric(text, start, end);
+        }
+        try {
+            return TimestampParser.parseEpochNanos(text, start, end);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid timestamp: " + text.subSequence(start, end), ex);
+        }
+    }
+
+    private long parseNumeric(@NotNull ByteSequence text, int start, int end) {
+        boolean negative = text.charAt(start) == '-';
+        long value = 0;
+        try {
+            for (int i = negative ? start + 1 : start; i < end; i++) {
+                value = Math.addExact(Math.multiplyExact(value, 10), text.charAt(i) - '0');
+            }
+            return Math.multiplyExact(negative ? -value : value, precisionNanos);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Timestamp outside of supported range: " + text.subSequence(start, end));
+        }
+    }
+
+    private static boolean isNumeric(@NotNull ByteSequence text, int start, int end) {
+        int digitStart = start < end && text.charAt(start) == '-' ? start + 1 : start;
+        if (digitStart == end) {
+            return false;
+        }
+        for (int i = digitStart; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position after the first line break at or after the given position.
+     */
+    private static long nextLineStart(@NotNull FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+
+    @NotNull
+    private static RuntimeException unwrap(@NotNull CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+            return (RuntimeException) ex.getCause();
+        }
+        return ex;
+    }
+
+    /**
+     * Read-only ASCII view of a ByteBuffer (absolute indexes).
+     */
+    private static final class ByteSequence implements CharSequence {
+
+        private final ByteBuffer buffer;
+
+        private ByteSequence(@NotNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte byteAt(int index) {
+            return buffer.get(index);
+        }
+
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(index) & 0xFF);
+        }
+
+        @NotNull
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+
+    /**
+     * Growable primitive storage of parsed epoch nanoseconds.
+     */
+    private static final class EpochNanosBuffer {
+
+        private long[] epochNanos;
+        private int size;
+
+        private EpochNanosBuffer(int capacity) {
+            epochNanos = new long[capacity];
+        }
+
+        private void add(long value) {
+            if (size == epochNanos.length) {
+                epochNanos = Arrays.copyOf(epochNanos, size * 2);
+            }
+            epochNanos[size++] = value;
+        }
+    }
+
+}
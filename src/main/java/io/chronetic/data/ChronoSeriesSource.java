@@ -0,0 +1,128 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Backing store of a ChronoSeries' timestamps. Timestamps are exposed as epoch nanoseconds
+ * and must be sorted in ascending order by series position.
+ * <p>
+ * Only {@link #getSize()} and {@link #getEpochNanos(int)} are required; the remaining operations
+ * default to resolving positions one at a time and may be overridden by stores which are able
+ * to answer them more efficiently.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ * @see ChronoSeries#of(ChronoSeriesSource)
+ */
+public interface ChronoSeriesSource {
+
+    /**
+     * Optional abilities a ChronoSeriesSource may advertise.
+     */
+    enum Capability {
+        /**
+         * Counting many ChronoRanges at once via {@link #countEvents(List)} is cheaper than counting each separately.
+         */
+        BATCHED_COUNTS,
+        /**
+         * Event counts are answered from pre-aggregated histograms where possible.
+         */
+        HISTOGRAMS
+    }
+
+    /**
+     * Returns the capabilities of this ChronoSeriesSource.
+     *
+     * @return advertised capabilities
+     */
+    @NotNull
+    default Set<Capability> getCapabilities() {
+        return EnumSet.noneOf(Capability.class);
+    }
+
+    /**
+     * Returns the amount of timestamps in this ChronoSeriesSource.
+     *
+     * @return amount of timestamps
+     */
+    int getSize();
+
+    /**
+     * Returns the earliest timestamp as epoch nanoseconds.
+     *
+     * @return earliest epoch nanoseconds
+     */
+    default long getBeginEpochNanos() {
+        return getEpochNanos(0);
+    }
+
+    /**
+     * Returns the latest timestamp as epoch nanoseconds.
+     *
+     * @return latest epoch nanoseconds
+     */
+    default long getEndEpochNanos() {
+        return getEpochNanos(getSize() - 1);
+    }
+
+    /**
+     * Returns the timestamp at the given series position as epoch nanoseconds.
+     *
+     * @param seriesPosition desired position
+     * @return epoch nanoseconds at given series position
+     * @throws IndexOutOfBoundsException if the series position is invalid
+     */
+    long getEpochNanos(int seriesPosition);
+
+    /**
+     * Copies the timestamps starting at the given series position as epoch nanoseconds.
+     *
+     * @param seriesPosition desired position
+     * @param destination array to copy into
+     * @param length amount of timestamps to copy
+     * @throws IndexOutOfBoundsException if the series positions are invalid
+     */
+    default void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        requireNonNull(destination);
+        for (int i = 0; i < length; i++) {
+            destination[i] = getEpochNanos(seriesPosition + i);
+        }
+    }
+
+    /**
+     * Counts the number of time events that occur during the given ChronoRange.
+     * Timestamp ranges are treated as <code>[start, end)</code> unless the ChronoRange
+     * includes the ending timestamp (see {@link ChronoRange#isEndingTimestampIncluded(java.time.Instant)}).
+     * The default implementation binary searches the sorted timestamps.
+     *
+     * @param chronoRange desired ChronoRange
+     * @return amount of time events that occur during the given ChronoRange
+     */
+    default int countEvents(@NotNull ChronoRange chronoRange) {
+        return SourceSearch.countEvents(this, requireNonNull(chronoRange));
+    }
+
+    /**
+     * Counts the number of time events that occur during each of the given ChronoRanges.
+     *
+     * @param chronoRanges desired ChronoRanges
+     * @return amount of time events of each ChronoRange (in the given order)
+     */
+    @NotNull
+    default int[] countEvents(@NotNull List<ChronoRange> chronoRanges) {
+        int[] counts = new int[chronoRanges.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = countEvents(chronoRanges.get(i));
+        }
+        return counts;
+    }
+
+}
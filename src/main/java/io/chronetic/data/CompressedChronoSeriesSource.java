@@ -0,0 +1,283 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which holds its timestamps delta-of-delta encoded in fixed-size blocks.
+ * Each block header holds the block's first timestamp and bit offset so searches skip whole blocks
+ * and only the block a search ends in is decoded. Blocks are decoded into reused per-thread buffers which
+ * keep the two most recently decoded blocks. Nearly periodic series encode in about one bit per timestamp.
+ * <p>
+ * Delta-of-deltas are written with the prefix codes:
+ * <pre>
+ *   0     - zero
+ *   10    - 7 bit signed value
+ *   110   - 12 bit signed value
+ *   1110  - 20 bit signed value
+ *   11110 - 32 bit signed value
+ *   11111 - 64 bit value
+ * </pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class CompressedChronoSeriesSource implements SearchableChronoSeriesSource {
+
+    static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Value bit lengths by amount of leading one bits of the prefix code.
+     */
+    private static final int[] VALUE_BITS = {0, 7, 12, 20, 32, 64};
+
+    private final int size;
+    private final long[] blockFirstNanos;
+    private final long[] blockBitOffsets;
+    private final long[] bits;
+    private final ThreadLocal<DecodedBlocks> decodedBlocks = ThreadLocal.withInitial(DecodedBlocks::new);
+
+    /**
+     * Creates CompressedChronoSeriesSource with the timestamps of the given source.
+     *
+     * @param source sorted ChronoSeriesSource to compress
+     */
+    CompressedChronoSeriesSource(@NotNull ChronoSeriesSource source) {
+        size = requireNonNull(source).getSize();
+        int blockCount = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blockFirstNanos = new long[blockCount];
+        blockBitOffsets = new long[blockCount];
+
+        BitWriter writer = new BitWriter(Math.max(1, blockCount * 4));
+        long[] block = new long[BLOCK_SIZE];
+        for (int i = 0; i < blockCount; i++) {
+            int blockSize = getBlockSize(i);
+            source.getEpochNanos(i * BLOCK_SIZE, block, blockSize);
+            blockFirstNanos[i] = block[0];
+            blockBitOffsets[i] = writer.position;
+
+            long previousNanos = block[0];
+            long previousDelta = 0;
+            for (int j = 1; j < blockSize; j++) {
+                long delta = block[j] - previousNanos;
+                writeDeltaOfDelta(writer, delta - previousDelta);
+                previousNanos = block[j];
+                previousDelta = delta;
+            }
+        }
+        bits = Arrays.copyOf(writer.words, (int) ((writer.position + 63) >>> 6));
+    }
+
+    /**
+     * Returns the amount of bytes used to hold the compressed timestamps.
+     *
+     * @return compressed size in bytes
+     */
+    long getCompressedBytes() {
+        return (bits.length + blockFirstNanos.length * 2L) * Long.BYTES;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getBeginEpochNanos() {
+        return blockFirstNanos[0];
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        if (seriesPosition < 0 || seriesPosition >= size) {
+            throw new IndexOutOfBoundsException("Invalid series position: " + seriesPosition);
+        }
+        return decodeBlock(seriesPosition / BLOCK_SIZE)[seriesPosition % BLOCK_SIZE];
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        if (seriesPosition < 0 || length < 0 || seriesPosition > size - length) {
+            throw new IndexOutOfBoundsException("Invalid series positions: " + seriesPosition + "; Length: " + length);
+        }
+
+        int copied = 0;
+        while (copied < length) {
+            int position = seriesPosition + copied;
+            int blockOffset = position % BLOCK_SIZE;
+            int blockIndex = position / BLOCK_SIZE;
+            int blockLength = Math.min(getBlockSize(blockIndex) - blockOffset, length - copied);
+            System.arraycopy(decodeBlock(blockIndex), blockOffset, destination, copied, blockLength);
+            copied += blockLength;
+        }
+    }
+
+    @Override
+    public int countEvents(@NotNull ChronoRange chronoRange) {
+        return SourceSearch.countEvents(this, requireNonNull(chronoRange));
+    }
+
+    /**
+     * Binary searches block headers; only the block containing the result is decoded.
+     */
+    @Override
+    public int search(long epochNanos, int fromIndex, boolean inclusive) {
+        //find last block which starts before the searched timestamp
+        int low = 0;
+        int high = blockFirstNanos.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blockFirstNanos[mid] < epochNanos || (inclusive && blockFirstNanos[mid] == epochNanos)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) {
+            return fromIndex;
+        }
+
+        int blockIndex = low - 1;
+        int blockSize = getBlockSize(blockIndex);
+        long[] block = decodeBlock(blockIndex);
+        int position = 1;
+        while (position < blockSize && (block[position] < epochNanos || (inclusive && block[position] == epochNanos))) {
+            position++;
+        }
+        return Math.max(fromIndex, blockIndex * BLOCK_SIZE + position);
+    }
+
+    private int getBlockSize(int blockIndex) {
+        return Math.min(BLOCK_SIZE, size - blockIndex * BLOCK_SIZE);
+    }
+
+    /**
+     * Returns the decoded timestamps of the given block. The returned array is a buffer of the calling thread
+     * which is overwritten by decoding two other blocks; it may be longer than the block.
+     */
+    @NotNull
+    private long[] decodeBlock(int blockIndex) {
+        DecodedBlocks decodedBlocks = this.decodedBlocks.get();
+        int buffer = decodedBlocks.getBuffer(blockIndex);
+        long[] block = decodedBlocks.epochNanos[buffer];
+        if (decodedBlocks.blockIndexes[buffer] == blockIndex) {
+            return block;
+        }
+
+        int blockSize = getBlockSize(blockIndex);
+        long bitPosition = blockBitOffsets[blockIndex];
+        long previousNanos = blockFirstNanos[blockIndex];
+        long previousDelta = 0;
+        block[0] = previousNanos;
+        for (int i = 1; i < blockSize; i++) {
+            int prefix = 0;
+            while (prefix < 5 && readBits(bitPosition++, 1) == 1) {
+                prefix++;
+            }
+
+            long deltaOfDelta = 0;
+            if (prefix > 0) {
+                int length = VALUE_BITS[prefix];
+                deltaOfDelta = readBits(bitPosition, length);
+                bitPosition += length;
+                if (length < 64) {
+                    deltaOfDelta = (deltaOfDelta << (64 - length)) >> (64 - length);
+                }
+            }
+            previousDelta += deltaOfDelta;
+            previousNanos += previousDelta;
+            block[i] = previousNanos;
+        }
+
+        decodedBlocks.blockIndexes[buffer] = blockIndex;
+        return block;
+    }
+
+    private long readBits(long bitPosition, int length) {
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        int available = 64 - shift;
+        long value;
+        if (length <= available) {
+            value = bits[word] >>> (available - length);
+        } else {
+            value = (bits[word] << (length - available)) | (bits[word + 1] >>> (64 - (length - available)));
+        }
+        return length == 64 ? value : value & ((1L << length) - 1);
+    }
+
+    private static void writeDeltaOfDelta(@NotNull BitWriter writer, long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writer.write(0, 1);
+            return;
+        }
+
+        for (int prefix = 1; prefix < VALUE_BITS.length; prefix++) {
+            int length = VALUE_BITS[prefix];
+            if (length == 64 || ((deltaOfDelta << (64 - length)) >> (64 - length)) == deltaOfDelta) {
+                //prefix is ones followed by a terminating zero (omitted for the longest code)
+                writer.write(prefix == VALUE_BITS.length - 1 ? (1L << prefix) - 1 : ((1L << prefix) - 1) << 1,
+                        prefix == VALUE_BITS.length - 1 ? prefix : prefix + 1);
+                writer.write(deltaOfDelta, length);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Growable big-endian bit stream.
+     */
+    private static final class BitWriter {
+
+        private long[] words;
+        private long position;
+
+        private BitWriter(int capacity) {
+            words = new long[capacity];
+        }
+
+        private void write(long value, int length) {
+            int word = (int) (position >>> 6);
+            if (word + 1 >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 2, words.length * 2));
+            }
+            if (length < 64) {
+                value &= (1L << length) - 1;
+            }
+
+            int available = 64 - (int) (position & 63);
+            if (length <= available) {
+                words[word] |= value << (available - length);
+            } else {
+                words[word] |= value >>> (length - available);
+                words[word + 1] |= value << (64 - (length - available));
+            }
+            position += length;
+        }
+    }
+
+    /**
+     * Two most recently decoded blocks of a thread.
+     */
+    private static final class DecodedBlocks {
+
+        private final int[] blockIndexes = {-1, -1};
+        private final long[][] epochNanos = new long[2][BLOCK_SIZE];
+        private int leastRecentBuffer;
+
+        /**
+         * Returns the buffer holding the given block; or the least recently used buffer to decode it into.
+         */
+        private int getBuffer(int blockIndex) {
+            int buffer = blockIndexes[0] == blockIndex ? 0 : blockIndexes[1] == blockIndex ? 1 : leastRecentBuffer;
+            leastRecentBuffer = 1 - buffer;
+            return buffer;
+        }
+    }
+
+}
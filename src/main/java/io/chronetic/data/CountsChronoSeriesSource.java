@@ -0,0 +1,139 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.temporal.ChronoUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which holds pre-aggregated event counts per time bucket.
+ * Every event of a bucket occurs at the bucket's start; series positions are expanded
+ * on access so only one timestamp and count is stored per bucket.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class CountsChronoSeriesSource implements SearchableChronoSeriesSource {
+
+    private final long[] bucketNanos;
+    private final int[] bucketEnds;
+    private final int size;
+
+    /**
+     * Creates CountsChronoSeriesSource from the given buckets. Empty buckets are dropped.
+     *
+     * @param bucketStarts strictly increasing bucket starts as epoch values of bucketUnit
+     * @param counts amount of events per bucket
+     * @param bucketUnit ChronoUnit of bucket starts (NANOS through DAYS)
+     */
+    CountsChronoSeriesSource(@NotNull long[] bucketStarts, @NotNull int[] counts, @NotNull ChronoUnit bucketUnit) {
+        if (requireNonNull(bucketStarts).length != requireNonNull(counts).length) {
+            throw new IllegalArgumentException("Bucket starts and counts must be of equal length");
+        } else if (requireNonNull(bucketUnit).compareTo(ChronoUnit.DAYS) > 0) {
+            throw new IllegalArgumentException("Unsupported bucket unit: " + bucketUnit);
+        }
+
+        int bucketCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0) {
+                throw new IllegalArgumentException("Invalid count: " + counts[i] + "; Bucket: " + i);
+            } else if (i > 0 && bucketStarts[i] <= bucketStarts[i - 1]) {
+                throw new IllegalArgumentException("Bucket starts must be strictly increasing");
+            } else if (counts[i] > 0) {
+                bucketCount++;
+            }
+        }
+
+        long unitNanos = bucketUnit.getDuration().toNanos();
+        bucketNanos = new long[bucketCount];
+        bucketEnds = new int[bucketCount];
+        int bucket = 0;
+        int position = 0;
+        try {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    position = Math.addExact(position, counts[i]);
+                    bucketNanos[bucket] = Math.multiplyExact(bucketStarts[i], unitNanos);
+                    bucketEnds[bucket++] = position;
+                }
+            }
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Buckets exceed supported range", ex);
+        }
+        size = position;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        if (seriesPosition < 0 || seriesPosition >= size) {
+            throw new IndexOutOfBoundsException("Invalid series position: " + seriesPosition);
+        }
+        return bucketNanos[getBucket(seriesPosition)];
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        if (seriesPosition < 0 || length < 0 || seriesPosition > size - length) {
+            throw new IndexOutOfBoundsException("Invalid series positions: " + seriesPosition + "; Length: " + length);
+        } else if (length == 0) {
+            return;
+        }
+
+        int bucket = getBucket(seriesPosition);
+        for (int i = 0; i < length; i++) {
+            if (seriesPosition + i == bucketEnds[bucket]) {
+                bucket++;
+            }
+            destination[i] = bucketNanos[bucket];
+        }
+    }
+
+    @Override
+    public int countEvents(@NotNull ChronoRange chronoRange) {
+        return SourceSearch.countEvents(this, requireNonNull(chronoRange));
+    }
+
+    /**
+     * Searches buckets rather than series positions.
+     */
+    @Override
+    public int search(long epochNanos, int fromIndex, boolean inclusive) {
+        int low = 0;
+        int high = bucketNanos.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketNanos[mid] < epochNanos || (inclusive && bucketNanos[mid] == epochNanos)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Math.max(fromIndex, low == 0 ? 0 : bucketEnds[low - 1]);
+    }
+
+    /**
+     * Returns the bucket which contains the given series position.
+     */
+    private int getBucket(int seriesPosition) {
+        int low = 0;
+        int high = bucketEnds.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketEnds[mid] <= seriesPosition) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,512 @@
+package io.chronetic.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScale;
+import io.chronetic.data.measure.ChronoScaleUnit;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static io.chronetic.data.ChronoSeries.PAGE_SIZE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which queries its timestamps from an InfluxDB measurement.
+ * Timestamps are fetched in pages of {@link ChronoSeries#PAGE_SIZE} which are kept in a
+ * least-recently-used cache; event counts are answered from an event histogram where
+ * possible and are otherwise counted by InfluxDB.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class InfluxChronoSeriesSource implements ChronoSeriesSource {
+
+    private final static Logger logger = LoggerFactory.getLogger(InfluxChronoSeriesSource.class);
+
+    private static final int MAX_HISTOGRAM_BUCKETS = 1 << 20;
+    private static final ChronoUnit[] HISTOGRAM_UNITS = {
+            ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+            ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS
+    };
+    private static final int MAX_BATCH_STATEMENTS = 250;
+    private static final int MAX_BATCH_QUERY_LENGTH = 32 * 1024;
+
+    private final Cache<Integer, long[]> pageCache;
+    private final InfluxDB influxDB;
+    private final String database;
+    private final String table;
+    private final String column;
+    private final int size;
+    private final long beginEpochNanos;
+    private final long endEpochNanos;
+    private long[] indexEpochNanos;
+    private int[] indexPositions;
+    private ChronoScale chronoScale;
+    private ChronoHistogram histogram;
+    private ChronoUnit histogramFinestUnit;
+
+    /**
+     * Creates InfluxChronoSeriesSource with the given InfluxDB information.
+     *
+     * @param influxDB InfluxDB instance
+     * @param database database name
+     * @param table table name
+     * @param column column name
+     * @param pageCacheBudget page cache memory budget (in bytes)
+     */
+    InfluxChronoSeriesSource(@NotNull InfluxDB influxDB, @NotNull String database, @NotNull String table,
+                             @NotNull String column, long pageCacheBudget) {
+        if (pageCacheBudget < PAGE_SIZE * Long.BYTES) {
+            throw new IllegalArgumentException("Page cache budget must be able to hold at least one page");
+        }
+
+        this.pageCache = CacheBuilder.newBuilder()
+                .maximumWeight(pageCacheBudget)
+                .weigher((Integer pageIndex, long[] page) -> page.length * Long.BYTES)
+                .build();
+        this.influxDB = requireNonNull(influxDB);
+        this.database = requireNonNull(database);
+        this.table = requireNonNull(table);
+        this.column = requireNonNull(column);
+        influxDB.setDatabase(database);
+
+        //general info
+        int size = 0;
+        QueryResult queryResult = influxDB.query(new Query(String.format(
+                "SELECT COUNT(\"%s\") FROM \"%s\"",
+                column, table), database));
+
+        for (QueryResult.Result result : queryResult.getResults()) {
+            size = ((Double) result.getSeries().get(0).getValues().get(0).get(1)).intValue();
+            if (size < 2) {
+                throw new IllegalStateException("ChronoSeries requires at least two elements to initiate");
+            }
+        }
+        this.size = size;
+        this.beginEpochNanos = queryTimestamp("FIRST");
+        this.endEpochNanos = queryTimestamp("LAST");
+        buildPositionIndex();
+    }
+
+    /**
+     * Sets the ChronoScale which determines the width of the event histogram buckets.
+     * The event histogram is not used until a ChronoScale is set.
+     *
+     * @param chronoScale ChronoScale of the ChronoSeries using this source
+     */
+    synchronized void setChronoScale(@NotNull ChronoScale chronoScale) {
+        this.chronoScale = requireNonNull(chronoScale);
+    }
+
+    @NotNull
+    @Override
+    public Set<Capability> getCapabilities() {
+        return EnumSet.of(Capability.BATCHED_COUNTS, Capability.HISTOGRAMS);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getBeginEpochNanos() {
+        return beginEpochNanos;
+    }
+
+    @Override
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        if (seriesPosition < 0 || seriesPosition >= size) {
+            throw new IndexOutOfBoundsException("Invalid series position: " + seriesPosition);
+        }
+        return getPage(seriesPosition / PAGE_SIZE)[seriesPosition % PAGE_SIZE];
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        requireNonNull(destination);
+        if (seriesPosition < 0 || length < 0 || seriesPosition > size - length) {
+            throw new IndexOutOfBoundsException("Invalid series positions: " + seriesPosition + "; Length: " + length);
+        }
+
+        int copied = 0;
+        while (copied < length) {
+            int position = seriesPosition + copied;
+            long[] page = getPage(position / PAGE_SIZE);
+            int pageOffset = position % PAGE_SIZE;
+            int pageLength = Math.min(length - copied, page.length - pageOffset);
+            System.arraycopy(page, pageOffset, destination, copied, pageLength);
+            copied += pageLength;
+        }
+    }
+
+    /**
+     * Counts the number of time events that occur during the given ChronoRange.
+     * Timestamp ranges are treated as closed (<code>[start, end]</code>).
+     *
+     * @param chronoRange desired ChronoRange
+     * @return amount of time events that occur during the given ChronoRange
+     */
+    @Override
+    public int countEvents(@NotNull ChronoRange chronoRange) {
+        if (requireNonNull(chronoRange).getRangeCount() == 0) {
+            return 0;
+        }
+
+        long histogramCount = countHistogramEvents(chronoRange);
+        if (histogramCount >= 0) {
+            return (int) histogramCount;
+        }
+
+        int count = 0;
+        QueryResult queryResult = influxDB.query(new Query(countStatement(chronoRange), database));
+        for (QueryResult.Result result : queryResult.getResults()) {
+            count += getResultCount(result);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the number of time events that occur during each of the given ChronoRanges.
+     * Counts which can't be answered by the event histogram are requested together as multi-statement queries.
+     *
+     * @param chronoRanges desired ChronoRanges
+     * @return amount of time events of each ChronoRange (in the given order)
+     */
+    @NotNull
+    @Override
+    public int[] countEvents(@NotNull List<ChronoRange> chronoRanges) {
+        int[] counts = new int[chronoRanges.size()];
+        List<Integer> batchIndexes = new ArrayList<>();
+        StringBuilder batchQuery = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            ChronoRange chronoRange = requireNonNull(chronoRanges.get(i));
+            long histogramCount;
+            if (chronoRange.getRangeCount() == 0) {
+                continue;
+            } else if ((histogramCount = countHistogramEvents(chronoRange)) >= 0) {
+                counts[i] = (int) histogramCount;
+                continue;
+            }
+
+            String statement = countStatement(chronoRange);
+            if (!batchIndexes.isEmpty() && (batchIndexes.size() == MAX_BATCH_STATEMENTS
+                    || batchQuery.length() + statement.length() + 1 > MAX_BATCH_QUERY_LENGTH)) {
+                executeCountBatch(batchIndexes, batchQuery.toString(), counts);
+                batchIndexes.clear();
+                batchQuery.setLength(0);
+            }
+
+            if (!batchIndexes.isEmpty()) {
+                batchQuery.append(';');
+            }
+            batchQuery.append(statement);
+            batchIndexes.add(i);
+        }
+        if (!batchIndexes.isEmpty()) {
+            executeCountBatch(batchIndexes, batchQuery.toString(), counts);
+        }
+        return counts;
+    }
+
+    private long queryTimestamp(@NotNull String selector) {
+        QueryResult queryResult = influxDB.query(new Query(String.format(
+                "SELECT %s(\"%s\") FROM \"%s\"",
+                selector, column, table), database));
+
+        long epochNanos = 0;
+        for (QueryResult.Result result : queryResult.getResults()) {
+            String timeString = (String) result.getSeries().get(0).getValues().get(0).get(0);
+            epochNanos = TimestampParser.parseEpochNanos(timeString);
+        }
+        return epochNanos;
+    }
+
+    /**
+     * Counts the events of the given ChronoRange using the event histogram.
+     *
+     * @return amount of events; or -1 if the histogram is unable to count the ChronoRange
+     */
+    private long countHistogramEvents(@NotNull ChronoRange chronoRange) {
+        ChronoHistogram histogram = getHistogram();
+        if (histogram == null) {
+            return -1;
+        }
+        return histogram.countEvents(chronoRange.getTimestampRanges());
+    }
+
+    /**
+     * Returns the event histogram. Buckets are as wide as the finest enabled ChronoUnit (at most DAYS);
+     * or the next wider ChronoUnit which keeps the amount of buckets limited. The histogram is fetched
+     * on first use and fetched again once a finer ChronoUnit is enabled.
+     *
+     * @return event histogram; or null if no ChronoScale is set, the histogram would contain too many buckets,
+     * or InfluxDB returned an incomplete histogram
+     */
+    private synchronized ChronoHistogram getHistogram() {
+        if (chronoScale == null) {
+            return null;
+        }
+
+        Optional<ChronoScaleUnit> finestScaleUnit = chronoScale.getFinestEnabledChronoScaleUnit();
+        ChronoUnit finestUnit = ChronoUnit.DAYS;
+        if (finestScaleUnit.isPresent() && finestScaleUnit.get().getChronoUnit().compareTo(ChronoUnit.DAYS) < 0) {
+            finestUnit = finestScaleUnit.get().getChronoUnit();
+        }
+        if (finestUnit == histogramFinestUnit) {
+            return histogram;
+        }
+
+        ChronoUnit histogramUnit = null;
+        long bucketCount = 0;
+        for (ChronoUnit chronoUnit : HISTOGRAM_UNITS) {
+            if (chronoUnit.compareTo(finestUnit) >= 0) {
+                long unitNanos = chronoUnit.getDuration().toNanos();
+                bucketCount = Math.floorDiv(endEpochNanos, unitNanos) - Math.floorDiv(beginEpochNanos, unitNanos) + 2;
+                if (bucketCount <= MAX_HISTOGRAM_BUCKETS) {
+                    histogramUnit = chronoUnit;
+                    break;
+                }
+            }
+        }
+
+        if (histogramUnit == null) {
+            logger.debug("Skipping event histogram; too many buckets");
+            histogram = null;
+        } else if (histogram == null || histogram.getChronoUnit() != histogramUnit) {
+            logger.debug("Getting event histogram; Unit: " + histogramUnit + "; Buckets: " + bucketCount);
+            histogram = queryHistogram(histogramUnit, (int) bucketCount);
+        }
+
+        //histogram for finest unit is determined; not fetched again
+        histogramFinestUnit = finestUnit;
+        return histogram;
+    }
+
+    /**
+     * Queries the event histogram with buckets of the given ChronoUnit. The bucket counts of both statements
+     * must add up to the series size; truncated or failed responses are not used as histogram.
+     *
+     * @return event histogram; or null if InfluxDB returned an incomplete histogram
+     */
+    private ChronoHistogram queryHistogram(@NotNull ChronoUnit histogramUnit, int bucketCount) {
+        long bucketNanos = histogramUnit.getDuration().toNanos();
+        long baseNanos = (Math.floorDiv(beginEpochNanos, bucketNanos) - 1) * bucketNanos;
+
+        //second statement offsets buckets by 1ns to find the events which occur exactly on bucket boundaries
+        String statement = "SELECT COUNT(\"%s\") FROM \"%s\" WHERE time >= %d AND time <= %d GROUP BY time(%dns%s) fill(none)";
+        QueryResult queryResult = influxDB.query(new Query(
+                String.format(statement, column, table, baseNanos, endEpochNanos, bucketNanos, "") + ";"
+                        + String.format(statement, column, table, baseNanos, endEpochNanos, bucketNanos, ", 1ns"), database));
+        if (queryResult.getError() != null || queryResult.getResults() == null || queryResult.getResults().size() != 2) {
+            logger.warn("Unable to use event histogram; unexpected results for event histogram query");
+            return null;
+        }
+
+        long[][] bucketCounts = new long[2][bucketCount];
+        for (int i = 0; i < 2; i++) {
+            QueryResult.Result result = queryResult.getResults().get(i);
+            if (result.getError() != null) {
+                logger.warn("Unable to use event histogram; " + result.getError());
+                return null;
+            }
+
+            long eventCount = 0;
+            if (result.getSeries() != null) {
+                for (List<Object> values : result.getSeries().get(0).getValues()) {
+                    long bucket = Math.floorDiv(TimestampParser.parseEpochNanos((String) values.get(0)) - i - baseNanos, bucketNanos);
+                    if (bucket >= 0 && bucket < bucketCount) {
+                        bucketCounts[i][(int) bucket] = ((Double) values.get(1)).longValue();
+                        eventCount += bucketCounts[i][(int) bucket];
+                    }
+                }
+            }
+            if (eventCount != size) {
+                //e.g. rows truncated by the server's row limit
+                logger.warn("Unable to use event histogram; bucket counts add up to " + eventCount + " of " + size + " events");
+                return null;
+            }
+        }
+
+        return new ChronoHistogram(histogramUnit, baseNanos, beginEpochNanos, endEpochNanos,
+                bucketCounts[0], bucketCounts[1]);
+    }
+
+    private void executeCountBatch(@NotNull List<Integer> batchIndexes, @NotNull String batchQuery, @NotNull int[] counts) {
+        QueryResult queryResult = influxDB.query(new Query(batchQuery, database));
+        if (queryResult.getResults() == null || queryResult.getResults().size() != batchIndexes.size()) {
+            throw new IllegalStateException("Unexpected amount of results for batched event count query");
+        }
+
+        //results are returned in statement order
+        for (int i = 0; i < batchIndexes.size(); i++) {
+            counts[batchIndexes.get(i)] = getResultCount(queryResult.getResults().get(i));
+        }
+    }
+
+    @NotNull
+    private String countStatement(@NotNull ChronoRange chronoRange) {
+        StringBuilder whereClause = new StringBuilder();
+        boolean first = true;
+        for (Instant[] timestampRange : chronoRange.getTimestampRanges()) {
+            if (first) {
+                whereClause = whereClause.append("(");
+                first = false;
+            } else {
+                whereClause = whereClause.append("OR (");
+            }
+
+            whereClause = whereClause.append("time >= ").append(ChronoSeries.toEpochNanos(timestampRange[0]));
+            whereClause = whereClause.append(" AND ");
+            whereClause = whereClause.append("time <= ").append(ChronoSeries.toEpochNanos(timestampRange[1]));
+            whereClause = whereClause.append(") ");
+        }
+
+        return String.format("SELECT COUNT(%s) FROM \"%s\" WHERE %s", column, table, whereClause.toString());
+    }
+
+    private static int getResultCount(@NotNull QueryResult.Result result) {
+        if (result.getSeries() != null) {
+            Double dbCount = (Double) result.getSeries().get(0).getValues().get(0).get(1);
+            return dbCount.intValue();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the page of timestamps (as epoch nanoseconds) with the given index.
+     * Pages not present in the page cache are fetched from InfluxDB with a single query.
+     */
+    @NotNull
+    private long[] getPage(int pageIndex) {
+        long[] page = pageCache.getIfPresent(pageIndex);
+        if (page != null) {
+            return page;
+        }
+
+        int pageOffset = pageIndex * PAGE_SIZE;
+        page = new long[Math.min(PAGE_SIZE, size - pageOffset)];
+        logger.debug("Getting timestamp page at position: " + pageOffset + "; Limit: " + page.length);
+
+        QueryResult queryResult;
+        if (indexPositions != null) {
+            //seek from the nearest index entry instead of the beginning of the series
+            int entry = Arrays.binarySearch(indexPositions, pageOffset);
+            if (entry < 0) {
+                entry = -entry - 2;
+            }
+            queryResult = influxDB.query(new Query(String.format(
+                    "SELECT %s FROM \"%s\" WHERE time >= %d LIMIT %d OFFSET %d",
+                    column, table, indexEpochNanos[entry], page.length, pageOffset - indexPositions[entry]), database));
+        } else {
+            queryResult = influxDB.query(new Query(String.format(
+                    "SELECT %s FROM \"%s\" LIMIT %d OFFSET %d",
+                    column, table, page.length, pageOffset), database));
+        }
+
+        int i = 0;
+        for (QueryResult.Result result : queryResult.getResults()) {
+            if (result.getSeries() != null) {
+                for (List<Object> values : result.getSeries().get(0).getValues()) {
+                    if (i < page.length) {
+                        page[i++] = TimestampParser.parseEpochNanos((String) values.get(0));
+                    }
+                }
+            }
+        }
+        if (i < page.length) {
+            throw new IllegalStateException("Unable to determine timestamp at series position: " + (pageOffset + i));
+        }
+
+        pageCache.put(pageIndex, page);
+        return page;
+    }
+
+    /**
+     * Builds a sparse index of series positions. The series is split into time buckets which hold at most
+     * {@link ChronoSeries#PAGE_SIZE} timestamps (unless a single timestamp occurs more often); each index entry
+     * records a bucket's start time and the series position of the bucket's first timestamp.
+     * Seeking a page therefore skips at most a bucket's timestamps, regardless of how bursty the series is.
+     */
+    private void buildPositionIndex() {
+        if (size <= PAGE_SIZE) {
+            return; //single page; nothing to seek
+        }
+
+        long bucketCount = size / PAGE_SIZE;
+        long bucketNanos = Math.max(1, endEpochNanos / bucketCount - beginEpochNanos / bucketCount + 1);
+        List<long[]> buckets = new ArrayList<>();
+        long indexedCount = addIndexBuckets(beginEpochNanos, endEpochNanos, bucketNanos, buckets);
+
+        long[] epochNanos = new long[buckets.size()];
+        int[] positions = new int[buckets.size()];
+        int position = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            epochNanos[i] = buckets.get(i)[0];
+            positions[i] = position;
+            position += buckets.get(i)[1];
+        }
+
+        if (indexedCount != size || position != size || positions.length == 0 || positions[0] != 0) {
+            logger.warn("Unable to build position index; series size changed during initialization");
+        } else {
+            indexEpochNanos = epochNanos;
+            indexPositions = positions;
+        }
+    }
+
+    /**
+     * Adds the non-empty time buckets (as start time and amount of timestamps) of the given width between the
+     * given times (inclusive) to the given buckets. Buckets holding more than {@link ChronoSeries#PAGE_SIZE}
+     * timestamps are split into narrower buckets.
+     *
+     * @return amount of timestamps between the given times; or -1 if split buckets don't add up
+     */
+    private long addIndexBuckets(long fromEpochNanos, long toEpochNanos, long bucketNanos, @NotNull List<long[]> buckets) {
+        QueryResult queryResult = influxDB.query(new Query(String.format(
+                "SELECT COUNT(\"%s\") FROM \"%s\" WHERE time >= %d AND time <= %d GROUP BY time(%dns) fill(none)",
+                column, table, fromEpochNanos, toEpochNanos, bucketNanos), database));
+
+        long totalCount = 0;
+        for (QueryResult.Result result : queryResult.getResults()) {
+            if (result.getSeries() == null) {
+                continue;
+            }
+
+            for (List<Object> values : result.getSeries().get(0).getValues()) {
+                //buckets are aligned to the epoch; the first may start before the given time
+                long bucketStart = TimestampParser.parseEpochNanos((String) values.get(0));
+                long startEpochNanos = Math.max(fromEpochNanos, bucketStart);
+                long count = ((Double) values.get(1)).longValue();
+                if (count > PAGE_SIZE && bucketNanos > 1) {
+                    long splitBuckets = 2 * ((count + PAGE_SIZE - 1) / PAGE_SIZE);
+                    long splitNanos = Math.max(1, (bucketNanos + splitBuckets - 1) / splitBuckets);
+                    long endEpochNanos = Math.min(toEpochNanos, bucketStart + (bucketNanos - 1));
+                    if (addIndexBuckets(startEpochNanos, endEpochNanos, splitNanos, buckets) != count) {
+                        return -1;
+                    }
+                } else {
+                    buckets.add(new long[]{startEpochNanos, count});
+                }
+                totalCount += count;
+            }
+        }
+        return totalCount;
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.LongBuffer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which reads its timestamps directly from a memory-mapped ChronoSeries file.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ * @see ChronoSeriesFile
+ */
+final class MappedChronoSeriesSource implements ChronoSeriesSource {
+
+    private final LongBuffer[] segments;
+    private final int size;
+
+    /**
+     * Creates MappedChronoSeriesSource from the given mapped timestamp segments.
+     *
+     * @param segments mapped timestamp segments
+     */
+    MappedChronoSeriesSource(@NotNull LongBuffer[] segments) {
+        this.segments = requireNonNull(segments);
+        int size = 0;
+        for (LongBuffer segment : segments) {
+            size += segment.limit();
+        }
+        this.size = size;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        return segments[seriesPosition >>> ChronoSeriesFile.SEGMENT_SHIFT]
+                .get(seriesPosition & ChronoSeriesFile.SEGMENT_MASK);
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        requireNonNull(destination);
+        int copied = 0;
+        while (copied < length) {
+            int position = seriesPosition + copied;
+            LongBuffer segment = segments[position >>> ChronoSeriesFile.SEGMENT_SHIFT].duplicate();
+            segment.position(position & ChronoSeriesFile.SEGMENT_MASK);
+            int segmentLength = Math.min(length - copied, segment.remaining());
+            segment.get(destination, copied, segmentLength);
+            copied += segmentLength;
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package io.chronetic.data;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory snapshot of an InfluxDB measurement (optionally limited to a single tag value).
+ * The snapshot is streamed once using chunked responses and can be brought up to date with {@link #refresh()}.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class MaterializedChronoSeriesSource extends MemoryChronoSeriesSource {
+
+    private final static Logger logger = LoggerFactory.getLogger(MaterializedChronoSeriesSource.class);
+
+    private static final int MATERIALIZE_CHUNK_SIZE = 10_000;
+    private static final long MATERIALIZE_CHUNK_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final InfluxDB influxDB;
+    private final String database;
+    private final String table;
+    private final String column;
+    private final String tagKey;
+    private final String tagValue;
+
+    private MaterializedChronoSeriesSource(@NotNull long[] epochNanos, @NotNull InfluxDB influxDB,
+                                           @NotNull String database, @NotNull String table, @NotNull String column,
+                                           String tagKey, String tagValue) {
+        super(epochNanos);
+        this.influxDB = influxDB;
+        this.database = database;
+        this.table = table;
+        this.column = column;
+        this.tagKey = tagKey;
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Streams the whole measurement of the given InfluxDB information.
+     *
+     * @return materialized source of the given InfluxDB information
+     */
+    @NotNull
+    static MaterializedChronoSeriesSource materialize(@NotNull InfluxDB influxDB, @NotNull String database,
+                                                      @NotNull String table, @NotNull String column) {
+        requireNonNull(influxDB).setDatabase(requireNonNull(database));
+        long[] epochNanos = streamEpochNanos(influxDB, database, String.format(
+                "SELECT \"%s\" FROM \"%s\"",
+                requireNonNull(column), requireNonNull(table)), null).getOrDefault("", new long[0]);
+        if (epochNanos.length < 2) {
+            throw new IllegalStateException("ChronoSeries requires at least two elements to initiate");
+        }
+        return new MaterializedChronoSeriesSource(epochNanos, influxDB, database, table, column, null, null);
+    }
+
+    /**
+     * Streams the whole measurement of the given InfluxDB information grouped by the given tag.
+     * Tag values with less than two distinct timestamps are skipped.
+     *
+     * @return materialized sources by tag value
+     */
+    @NotNull
+    static Map<String, MaterializedChronoSeriesSource> materializeByTag(@NotNull InfluxDB influxDB,
+                                                                        @NotNull String database, @NotNull String table,
+                                                                        @NotNull String column, @NotNull String tagKey) {
+        requireNonNull(influxDB).setDatabase(requireNonNull(database));
+        Map<String, long[]> taggedEpochNanos = streamEpochNanos(influxDB, database, String.format(
+                "SELECT \"%s\" FROM \"%s\" GROUP BY \"%s\"",
+                requireNonNull(column), requireNonNull(table), requireNonNull(tagKey)), tagKey);
+
+        Map<String, MaterializedChronoSeriesSource> sourceMap = new TreeMap<>();
+        for (Map.Entry<String, long[]> entry : taggedEpochNanos.entrySet()) {
+            long[] epochNanos = entry.getValue();
+            if (epochNanos.length < 2 || Arrays.stream(epochNanos).allMatch(nanos -> nanos == epochNanos[0])) {
+                logger.debug("Skipping tag value with less than two distinct timestamps: " + entry.getKey());
+                continue;
+            }
+            sourceMap.put(entry.getKey(), new MaterializedChronoSeriesSource(
+                    epochNanos, influxDB, database, table, column, tagKey, entry.getKey()));
+        }
+        return sourceMap;
+    }
+
+    /**
+     * Returns a snapshot which additionally contains the timestamps stored in InfluxDB after
+     * this snapshot's end timestamp. Only the newer timestamps are fetched.
+     *
+     * @return refreshed source; or this source if no newer timestamps exist
+     */
+    @NotNull
+    MaterializedChronoSeriesSource refresh() {
+        String whereClause = "time > " + getEndEpochNanos();
+        if (tagKey != null) {
+            whereClause += String.format(" AND \"%s\" = '%s'", tagKey, tagValue.replace("\\", "\\\\").replace("'", "\\'"));
+        }
+        long[] newerEpochNanos = streamEpochNanos(influxDB, database, String.format(
+                "SELECT \"%s\" FROM \"%s\" WHERE %s",
+                column, table, whereClause), null).getOrDefault("", new long[0]);
+        if (newerEpochNanos.length == 0) {
+            return this;
+        }
+
+        int size = getSize();
+        long[] epochNanos = new long[size + newerEpochNanos.length];
+        getEpochNanos(0, epochNanos, size);
+        System.arraycopy(newerEpochNanos, 0, epochNanos, size, newerEpochNanos.length);
+        return new MaterializedChronoSeriesSource(epochNanos, influxDB, database, table, column, tagKey, tagValue);
+    }
+
+    /**
+     * Streams the timestamps of the given query using chunked responses.
+     *
+     * @param tagKey tag the query is grouped by; or null if not grouped
+     * @return streamed timestamps as epoch nanoseconds by tag value (empty string if not grouped)
+     */
+    @NotNull
+    private static Map<String, long[]> streamEpochNanos(@NotNull InfluxDB influxDB, @NotNull String database,
+                                                        @NotNull String query, String tagKey) {
+        logger.debug("Streaming timestamps of query: " + query);
+        EpochNanosCollector collector = new EpochNanosCollector(tagKey);
+        influxDB.query(new Query(query, database), MATERIALIZE_CHUNK_SIZE, collector);
+
+        try {
+            while (!collector.done.await(1, TimeUnit.SECONDS)) {
+                if (System.nanoTime() - collector.lastChunkTime > MATERIALIZE_CHUNK_TIMEOUT_NANOS) {
+                    throw new IllegalStateException("Timed out waiting for chunked response of query: " + query);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while streaming timestamps", ex);
+        }
+
+        if (collector.error != null) {
+            throw new IllegalStateException("Unable to stream timestamps: " + collector.error);
+        }
+
+        Map<String, long[]> taggedEpochNanos = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : collector.epochNanos.entrySet()) {
+            taggedEpochNanos.put(entry.getKey(), Arrays.copyOf(entry.getValue(), collector.lengths.get(entry.getKey())));
+        }
+        return taggedEpochNanos;
+    }
+
+    /**
+     * Collects the timestamps of chunked query responses by tag value.
+     * Chunks are delivered in order; the final chunk carries the "DONE" error.
+     */
+    private static final class EpochNanosCollector implements Consumer<QueryResult> {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final Map<String, long[]> epochNanos = new HashMap<>();
+        private final Map<String, Integer> lengths = new HashMap<>();
+        private final String tagKey;
+        private volatile long lastChunkTime = System.nanoTime();
+        private volatile String error;
+
+        private EpochNanosCollector(String tagKey) {
+            this.tagKey = tagKey;
+        }
+
+        @Override
+        public void accept(QueryResult queryResult) {
+            try {
+                if (queryResult.getError() != null) {
+                    if (!"DONE".equals(queryResult.getError())) {
+                        error = queryResult.getError();
+                    }
+                    done.countDown();
+                    return;
+                }
+
+                for (QueryResult.Result result : queryResult.getResults()) {
+                    if (result.getError() != null) {
+                        error = result.getError();
+                        done.countDown();
+                        return;
+                    } else if (result.getSeries() != null) {
+                        for (QueryResult.Series series : result.getSeries()) {
+                            String tagValue = "";
+                            if (tagKey != null && series.getTags() != null && series.getTags().get(tagKey) != null) {
+                                tagValue = series.getTags().get(tagKey);
+                            }
+
+                            long[] tagEpochNanos = epochNanos.get(tagValue);
+                            int length = lengths.getOrDefault(tagValue, 0);
+                            if (tagEpochNanos == null) {
+                                tagEpochNanos = new long[Math.max(16, series.getValues().size())];
+                            }
+                            for (List<Object> values : series.getValues()) {
+                                if (length == tagEpochNanos.length) {
+                                    tagEpochNanos = Arrays.copyOf(tagEpochNanos, length * 2);
+                                }
+                                tagEpochNanos[length++] = TimestampParser.parseEpochNanos((String) values.get(0));
+                            }
+                            epochNanos.put(tagValue, tagEpochNanos);
+                            lengths.put(tagValue, length);
+                        }
+                    }
+                }
+                lastChunkTime = System.nanoTime();
+            } catch (RuntimeException ex) {
+                error = ex.toString();
+                done.countDown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which holds its timestamps in memory as sorted epoch nanoseconds.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+class MemoryChronoSeriesSource implements ChronoSeriesSource {
+
+    private volatile long[] epochNanos;
+    private volatile int size;
+
+    /**
+     * Creates MemoryChronoSeriesSource from the given epoch nanoseconds.
+     * The given array is taken over and sorted if necessary.
+     *
+     * @param epochNanos timestamps as epoch nanoseconds
+     */
+    MemoryChronoSeriesSource(@NotNull long[] epochNanos) {
+        this.epochNanos = requireNonNull(epochNanos);
+        this.size = epochNanos.length;
+        for (int i = 1; i < epochNanos.length; i++) {
+            if (epochNanos[i] < epochNanos[i - 1]) {
+                Arrays.sort(epochNanos);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Appends the given sorted epoch nanoseconds, none of which may precede the current end timestamp.
+     * Storage grows geometrically; timestamps which are already visible to readers are never overwritten.
+     *
+     * @param appendEpochNanos sorted timestamps as epoch nanoseconds
+     */
+    synchronized void append(@NotNull long[] appendEpochNanos) {
+        long[] epochNanos = this.epochNanos;
+        int size = this.size;
+        if (size + appendEpochNanos.length > epochNanos.length) {
+            epochNanos = Arrays.copyOf(epochNanos, Math.max(size + appendEpochNanos.length, size + (size >> 1)));
+        }
+        System.arraycopy(appendEpochNanos, 0, epochNanos, size, appendEpochNanos.length);
+
+        //publish storage before size so readers never see positions without timestamps
+        this.epochNanos = epochNanos;
+        this.size = size + appendEpochNanos.length;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        if (seriesPosition >= size) {
+            throw new IndexOutOfBoundsException("Invalid series position: " + seriesPosition);
+        }
+        return epochNanos[seriesPosition];
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        if (seriesPosition > size - length) {
+            throw new IndexOutOfBoundsException("Invalid series positions: " + seriesPosition + "; Length: " + length);
+        }
+        System.arraycopy(epochNanos, seriesPosition, requireNonNull(destination), 0, length);
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.chronetic.data;
+
+/**
+ * ChronoSeriesSource which resolves timestamp searches from its own index
+ * rather than by binary searching individual series positions.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+interface SearchableChronoSeriesSource extends ChronoSeriesSource {
+
+    /**
+     * Returns the first series position (at or after fromIndex) with a timestamp after the given
+     * epoch nanoseconds; or at/after the given epoch nanoseconds when not inclusive.
+     *
+     * @param epochNanos timestamp to search as epoch nanoseconds
+     * @param fromIndex first series position to consider
+     * @param inclusive whether series positions with the given timestamp are skipped
+     * @return first matching series position; or size if none match
+     */
+    int search(long epochNanos, int fromIndex, boolean inclusive);
+
+}
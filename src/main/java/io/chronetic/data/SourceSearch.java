@@ -0,0 +1,111 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Resolves event counts of ChronoRanges by binary searching the sorted timestamps of a ChronoSeriesSource.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class SourceSearch {
+
+    private SourceSearch() {
+        //suppresses default constructor
+    }
+
+    /**
+     * Counts the number of time events of the given ChronoSeriesSource that occur during the given ChronoRange.
+     *
+     * @param source sorted ChronoSeriesSource
+     * @param chronoRange desired ChronoRange
+     * @return amount of time events that occur during the given ChronoRange
+     */
+    static int countEvents(@NotNull ChronoSeriesSource source, @NotNull ChronoRange chronoRange) {
+        if (chronoRange.isFullyConceptual()) {
+            return source.getSize();
+        } else if (chronoRange.isPeriodic() && chronoRange.getRangeCount() > source.getSize()) {
+            return countPeriodicEvents(source, chronoRange);
+        }
+
+        //resolve each timestamp range with two binary searches
+        int count = 0;
+        int previousIndex = 0;
+        boolean endingIncluded = false;
+        long endingNanos = 0;
+        for (int i = 0; i < chronoRange.getRangeCount(); i++) {
+            long startNanos = chronoRange.getRangeStartNanos(i);
+            long endNanos = chronoRange.getRangeEndNanos(i);
+            if (startNanos < endNanos) {
+                int startIndex = search(source, startNanos, previousIndex, false);
+                int endIndex = search(source, endNanos, startIndex, false);
+                count += endIndex - startIndex;
+                previousIndex = Math.max(previousIndex, endIndex);
+            }
+            if (chronoRange.isEndingTimestampIncluded(endNanos)) {
+                endingIncluded = true;
+                endingNanos = endNanos;
+            }
+        }
+
+        if (endingIncluded) {
+            boolean endingCounted = false;
+            for (int i = 0; i < chronoRange.getRangeCount(); i++) {
+                if (chronoRange.getRangeStartNanos(i) <= endingNanos && endingNanos < chronoRange.getRangeEndNanos(i)) {
+                    endingCounted = true;
+                    break;
+                }
+            }
+            if (!endingCounted) {
+                //ending timestamp is inclusive; count events which occur exactly on it
+                count += search(source, endingNanos, 0, true) - search(source, endingNanos, 0, false);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the events of the given periodic ChronoRange by testing each event; used when the ChronoRange
+     * has more timestamp ranges than the source has events.
+     */
+    private static int countPeriodicEvents(@NotNull ChronoSeriesSource source, @NotNull ChronoRange chronoRange) {
+        int count = 0;
+        long[] block = new long[4096];
+        for (int position = 0; position < source.getSize(); position += block.length) {
+            int length = Math.min(block.length, source.getSize() - position);
+            source.getEpochNanos(position, block, length);
+            for (int i = 0; i < length; i++) {
+                if (chronoRange.containsTime(ChronoSeries.toInstant(block[i]))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first series position (at or after fromIndex) with a timestamp after the given
+     * epoch nanoseconds; or at/after the given epoch nanoseconds when not inclusive.
+     */
+    static int search(@NotNull ChronoSeriesSource source, long epochNanos, int fromIndex, boolean inclusive) {
+        if (source instanceof SearchableChronoSeriesSource) {
+            return ((SearchableChronoSeriesSource) source).search(epochNanos, fromIndex, inclusive);
+        }
+
+        int low = fromIndex;
+        int high = source.getSize();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long midNanos = source.getEpochNanos(mid);
+            if (midNanos < epochNanos || (inclusive && midNanos == epochNanos)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,134 @@
+package io.chronetic.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Parses RFC3339 UTC timestamps (as returned by InfluxDB) directly into epoch nanoseconds.
+ * The canonical form (<code>yyyy-MM-ddTHH:mm:ss[.fffffffff]Z</code>) is parsed without
+ * intermediate objects; any other form is delegated to {@link Instant#parse(CharSequence)}.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class TimestampParser {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int[] NANO_SCALE = {
+            100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private TimestampParser() {
+        //suppresses default constructor
+    }
+
+    /**
+     * Parses the given timestamp into epoch nanoseconds.
+     *
+     * @param text timestamp to parse
+     * @return epoch nanoseconds of the given timestamp
+     * @throws java.time.format.DateTimeParseException if the timestamp could not be parsed
+     */
+    static long parseEpochNanos(@NotNull CharSequence text) {
+        return parseEpochNanos(requireNonNull(text), 0, text.length());
+    }
+
+    /**
+     * Parses the timestamp between the given indexes into epoch nanoseconds.
+     *
+     * @param text text containing timestamp to parse
+     * @param start start index of the timestamp (inclusive)
+     * @param end end index of the timestamp (exclusive)
+     * @return epoch nanoseconds of the given timestamp
+     * @throws java.time.format.DateTimeParseException if the timestamp could not be parsed
+     */
+    static long parseEpochNanos(@NotNull CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < 20 || length > 30 || text.charAt(end - 1) != 'Z'
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' || text.charAt(start + 10) != 'T'
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+            return parseFallback(text, start, end);
+        }
+
+        int year = parseDigits(text, start, start + 4);
+        int month = parseDigits(text, start + 5, start + 7);
+        int day = parseDigits(text, start + 8, start + 10);
+        int hour = parseDigits(text, start + 11, start + 13);
+        int minute = parseDigits(text, start + 14, start + 16);
+        int second = parseDigits(text, start + 17, start + 19);
+        int nano = 0;
+        if (length > 20) {
+            int fractionDigits = length - 21;
+            if (text.charAt(start + 19) != '.' || fractionDigits < 1) {
+                return parseFallback(text, start, end);
+            }
+            int fraction = parseDigits(text, start + 20, end - 1);
+            nano = fraction < 0 ? -1 : fraction * NANO_SCALE[fractionDigits - 1];
+        }
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0) {
+            return parseFallback(text, start, end);
+        }
+
+        long epochSecond = toEpochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+        return toEpochNanos(epochSecond, nano);
+    }
+
+    private static long parseFallback(@NotNull CharSequence text, int start, int end) {
+        Instant timestamp = Instant.parse(text.subSequence(start, end));
+        return toEpochNanos(timestamp.getEpochSecond(), timestamp.getNano());
+    }
+
+    private static long toEpochNanos(long epochSecond, int nano) {
+        try {
+            return Math.addExact(Math.multiplyExact(epochSecond, NANOS_PER_SECOND), nano);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Timestamp outside of supported range: " + Instant.ofEpochSecond(epochSecond, nano));
+        }
+    }
+
+    /**
+     * Returns the value of the given decimal digits; or -1 if a non-digit is present.
+     */
+    private static int parseDigits(@NotNull CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long toEpochDay(int year, int month, int day) {
+        //proleptic Gregorian calendar; days counted from 0000-03-01 so leap days end the year
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.chronetic.data;
+
+import io.chronetic.data.measure.ChronoRange;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ChronoSeriesSource which views a contiguous range of series positions of another ChronoSeriesSource.
+ * Timestamps are read from the parent source; nothing is copied.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class WindowChronoSeriesSource implements ChronoSeriesSource {
+
+    private final ChronoSeriesSource parent;
+    private final int offset;
+    private final int size;
+
+    /**
+     * Creates WindowChronoSeriesSource over the given series positions of the given source.
+     * Windows of windows view the underlying source directly.
+     *
+     * @param parent source to view
+     * @param offset first series position of the window
+     * @param size amount of series positions of the window
+     */
+    WindowChronoSeriesSource(@NotNull ChronoSeriesSource parent, int offset, int size) {
+        if (offset < 0 || size < 0 || offset > requireNonNull(parent).getSize() - size) {
+            throw new IndexOutOfBoundsException("Invalid window: " + offset + "; Size: " + size);
+        }
+
+        if (parent instanceof WindowChronoSeriesSource) {
+            WindowChronoSeriesSource parentWindow = (WindowChronoSeriesSource) parent;
+            this.parent = parentWindow.parent;
+            this.offset = parentWindow.offset + offset;
+        } else {
+            this.parent = parent;
+            this.offset = offset;
+        }
+        this.size = size;
+    }
+
+    @NotNull
+    @Override
+    public Set<Capability> getCapabilities() {
+        return parent.getCapabilities();
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getEpochNanos(int seriesPosition) {
+        if (seriesPosition < 0 || seriesPosition >= size) {
+            throw new IndexOutOfBoundsException("Invalid series position: " + seriesPosition);
+        }
+        return parent.getEpochNanos(offset + seriesPosition);
+    }
+
+    @Override
+    public void getEpochNanos(int seriesPosition, @NotNull long[] destination, int length) {
+        if (seriesPosition < 0 || length < 0 || seriesPosition > size - length) {
+            throw new IndexOutOfBoundsException("Invalid series positions: " + seriesPosition + "; Length: " + length);
+        }
+        parent.getEpochNanos(offset + seriesPosition, destination, length);
+    }
+
+    /**
+     * Counts the number of time events that occur during the given ChronoRange. ChronoRanges of a window
+     * never exceed the window's timestamps, so sources which count remotely are asked directly.
+     *
+     * @param chronoRange desired ChronoRange
+     * @return amount of time events that occur during the given ChronoRange
+     */
+    @Override
+    public int countEvents(@NotNull ChronoRange chronoRange) {
+        if (!isCountedByParent(requireNonNull(chronoRange))) {
+            return SourceSearch.countEvents(this, chronoRange);
+        }
+        return parent.countEvents(chronoRange);
+    }
+
+    @NotNull
+    @Override
+    public int[] countEvents(@NotNull List<ChronoRange> chronoRanges) {
+        for (ChronoRange chronoRange : chronoRanges) {
+            if (!isCountedByParent(requireNonNull(chronoRange))) {
+                return ChronoSeriesSource.super.countEvents(chronoRanges);
+            }
+        }
+        return parent.countEvents(chronoRanges);
+    }
+
+    private boolean isCountedByParent(@NotNull ChronoRange chronoRange) {
+        return !chronoRange.isFullyConceptual() && parent.getCapabilities().contains(Capability.BATCHED_COUNTS);
+    }
+
+}
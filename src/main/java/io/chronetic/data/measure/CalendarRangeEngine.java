@@ -0,0 +1,339 @@
+package io.chronetic.data.measure;
+
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jenetics.util.ISeq;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes the time ranges of a ChronoPattern sequence arithmetically on epoch seconds (UTC) rather than
+ * by stepping through time. Month boundaries are precomputed once per year; ranges are emitted directly
+ * so work is proportional to the amount of ranges rather than the amount of stepped units.
+ * <p>
+ * Supports sequences of ChronoPatterns with temporal values using YEARS, MONTHS, DAYS (day of week), HOURS,
+ * MINUTES and SECONDS. A time matches when, for every unit of the sequence, its calendar field equals any
+ * of the unit's temporal values.
+ * <p>
+ * Fine-grained ranges over series spanning several years are calculated per year on the fork-join pool;
+ * the partitions are stitched by merging the ranges adjacent at the year boundaries.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class CalendarRangeEngine {
+
+    private static final ChronoUnit[] UNITS = {
+            ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.DAYS,
+            ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS
+    };
+    private static final int YEARS = 0;
+    private static final int MONTHS = 1;
+    private static final int DAYS = 2;
+    private static final int HOURS = 3;
+    private static final int MINUTES = 4;
+    private static final int SECONDS = 5;
+    private static final int NONE = -1;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final int PARALLEL_MIN_YEARS = 4;
+
+    private final long[] valueMasks = new long[UNITS.length];
+    private final int[] years;
+    private final int finestLevel;
+    private final int firstYear;
+    private final long[] monthStartEpochDays;
+    private long beginEpochSecond;
+    private long endEpochSecond;
+    private long[] ranges = new long[32];
+    private int rangeCount;
+
+    private CalendarRangeEngine(@NotNull ISeq<ChronoPattern> chronoPatternSeq,
+                                long beginEpochSecond, long endEpochSecond) {
+        int[] years = new int[0];
+        int finestLevel = NONE;
+        for (ChronoPattern chronoPattern : chronoPatternSeq) {
+            int level = getLevel(chronoPattern.getChronoScaleUnit().getChronoUnit());
+            int value = chronoPattern.getTemporalValue().getAsInt();
+            if (level == YEARS) {
+                years = Arrays.copyOf(years, years.length + 1);
+                years[years.length - 1] = value;
+            } else if (value >= 0 && value < 64) {
+                valueMasks[level] |= 1L << value;
+            }
+            valueMasks[level] |= Long.MIN_VALUE; //marks unit as constrained; no unit value reaches 63
+            finestLevel = Math.max(finestLevel, level);
+        }
+        this.years = valueMasks[YEARS] == 0 ? null : years;
+        this.finestLevel = finestLevel;
+        this.beginEpochSecond = beginEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+
+        //month boundary table of every year within the bounds
+        firstYear = LocalDate.ofEpochDay(Math.floorDiv(beginEpochSecond, SECONDS_PER_DAY)).getYear();
+        int lastYear = LocalDate.ofEpochDay(Math.floorDiv(endEpochSecond, SECONDS_PER_DAY)).getYear();
+        monthStartEpochDays = new long[(lastYear - firstYear + 1) * 12 + 1];
+        for (int i = 0; i < monthStartEpochDays.length; i++) {
+            monthStartEpochDays[i] = LocalDate.of(firstYear + i / 12, i % 12 + 1, 1).toEpochDay();
+        }
+    }
+
+    /**
+     * Determines whether the given ChronoPattern sequence can be calculated by CalendarRangeEngine.
+     *
+     * @param chronoPatternSeq ChronoPattern sequence to consider
+     * @return whether the given ChronoPattern sequence is supported
+     */
+    static boolean supports(@NotNull ISeq<ChronoPattern> chronoPatternSeq) {
+        for (ChronoPattern chronoPattern : requireNonNull(chronoPatternSeq)) {
+            if (getLevel(chronoPattern.getChronoScaleUnit().getChronoUnit()) == NONE
+                    || !chronoPattern.getTemporalValue().isPresent()) {
+                return false;
+            }
+        }
+        return !chronoPatternSeq.isEmpty();
+    }
+
+    /**
+     * Creates CalendarRangeEngine of the given ChronoPattern sequence within the given epoch seconds.
+     *
+     * @param chronoPatternSeq supported ChronoPattern sequence
+     * @param beginEpochSecond earliest epoch second (inclusive)
+     * @param endEpochSecond latest epoch second (inclusive)
+     * @return CalendarRangeEngine of the given ChronoPattern sequence
+     */
+    @NotNull
+    static CalendarRangeEngine of(@NotNull ISeq<ChronoPattern> chronoPatternSeq,
+                                  long beginEpochSecond, long endEpochSecond) {
+        if (!supports(chronoPatternSeq)) {
+            throw new IllegalArgumentException("Unsupported ChronoPattern sequence: " + chronoPatternSeq);
+        } else if (beginEpochSecond > endEpochSecond) {
+            throw new IllegalArgumentException("Invalid bounds: " + beginEpochSecond + " - " + endEpochSecond);
+        }
+        return new CalendarRangeEngine(chronoPatternSeq, beginEpochSecond, endEpochSecond);
+    }
+
+    /**
+     * Calculates the time ranges of the given ChronoPattern sequence which overlap the given epoch seconds.
+     * Ranges are not clipped to the given epoch seconds.
+     *
+     * @param chronoPatternSeq supported ChronoPattern sequence
+     * @param beginEpochSecond earliest epoch second (inclusive)
+     * @param endEpochSecond latest epoch second (inclusive)
+     * @return sorted start/end epoch seconds pairs; [start0, end0, start1, end1, ...]
+     */
+    @NotNull
+    static long[] calculateRanges(@NotNull ISeq<ChronoPattern> chronoPatternSeq,
+                                  long beginEpochSecond, long endEpochSecond) {
+        CalendarRangeEngine engine = of(chronoPatternSeq, beginEpochSecond, endEpochSecond);
+        int yearCount = (engine.monthStartEpochDays.length - 1) / 12;
+        if (engine.finestLevel < HOURS || yearCount < PARALLEL_MIN_YEARS) {
+            return engine.calculateRanges(beginEpochSecond, endEpochSecond);
+        }
+        return new PartitionTask(chronoPatternSeq, beginEpochSecond, endEpochSecond,
+                engine.firstYear, engine.firstYear + yearCount - 1).invoke();
+    }
+
+    /**
+     * Calculates the time ranges which overlap the given epoch seconds; which must be within the engine's bounds.
+     * Ranges are not clipped to the given epoch seconds.
+     *
+     * @param beginEpochSecond earliest epoch second (inclusive)
+     * @param endEpochSecond latest epoch second (inclusive)
+     * @return sorted start/end epoch seconds pairs; [start0, end0, start1, end1, ...]
+     */
+    @NotNull
+    long[] calculateRanges(long beginEpochSecond, long endEpochSecond) {
+        this.beginEpochSecond = beginEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+        rangeCount = 0;
+
+        //months overlapping the bounds
+        int monthIndex = Arrays.binarySearch(monthStartEpochDays, Math.floorDiv(beginEpochSecond, SECONDS_PER_DAY));
+        monthIndex = Math.max(0, monthIndex < 0 ? -monthIndex - 2 : monthIndex);
+        for (; monthIndex < monthStartEpochDays.length - 1; monthIndex++) {
+            if (monthStartEpochDays[monthIndex] * SECONDS_PER_DAY > endEpochSecond) {
+                break;
+            } else if (isMatching(YEARS, firstYear + monthIndex / 12) && isMatching(MONTHS, monthIndex % 12 + 1)) {
+                addMonth(monthIndex);
+            }
+        }
+        return Arrays.copyOf(ranges, rangeCount * 2);
+    }
+
+    /**
+     * Determines whether the given epoch second matches the ChronoPattern sequence.
+     *
+     * @param epochSecond epoch second to consider
+     * @return whether the given epoch second matches
+     */
+    boolean isMatching(long epochSecond) {
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        for (int level = 0; level < UNITS.length; level++) {
+            if (!isMatching(level, dateTime.get(ChronoScale.getChronoField(UNITS[level])))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addMonth(int monthIndex) {
+        long monthStartDay = monthStartEpochDays[monthIndex];
+        long monthEndDay = monthStartEpochDays[monthIndex + 1];
+        if (finestLevel <= MONTHS) {
+            addRange(monthStartDay * SECONDS_PER_DAY, monthEndDay * SECONDS_PER_DAY);
+            return;
+        }
+
+        //only days within the bounds
+        long firstDay = Math.max(monthStartDay, Math.floorDiv(beginEpochSecond, SECONDS_PER_DAY));
+        long lastDay = Math.min(monthEndDay - 1, Math.floorDiv(endEpochSecond, SECONDS_PER_DAY));
+        for (long day = firstDay; day <= lastDay; day++) {
+            if (!isMatching(DAYS, getDayOfWeek(day))) {
+                continue;
+            } else if (finestLevel == DAYS) {
+                addRange(day * SECONDS_PER_DAY, (day + 1) * SECONDS_PER_DAY);
+            } else {
+                addWithin(day * SECONDS_PER_DAY, HOURS, 24, 3600);
+            }
+        }
+    }
+
+    /**
+     * Adds the ranges of the given level within the period starting at the given epoch second.
+     */
+    private void addWithin(long periodStart, int level, int unitsPerPeriod, long unitSeconds) {
+        if (!isOverlapping(periodStart, periodStart + unitsPerPeriod * unitSeconds)) {
+            return;
+        }
+
+        for (int unit = 0; unit < unitsPerPeriod; unit++) {
+            if (!isMatching(level, unit)) {
+                continue;
+            }
+
+            long unitStart = periodStart + unit * unitSeconds;
+            if (finestLevel == level) {
+                addRange(unitStart, unitStart + unitSeconds);
+            } else {
+                addWithin(unitStart, level + 1, 60, unitSeconds / 60);
+            }
+        }
+    }
+
+    private boolean isMatching(int level, int value) {
+        if (valueMasks[level] == 0) {
+            return true; //unconstrained
+        } else if (level == YEARS) {
+            for (int year : years) {
+                if (year == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return value >= 0 && value < 63 && (valueMasks[level] & (1L << value)) != 0;
+    }
+
+    private boolean isOverlapping(long startEpochSecond, long endEpochSecond) {
+        return startEpochSecond <= this.endEpochSecond && endEpochSecond > beginEpochSecond;
+    }
+
+    private void addRange(long startEpochSecond, long endEpochSecond) {
+        if (!isOverlapping(startEpochSecond, endEpochSecond)) {
+            return;
+        } else if (rangeCount > 0 && ranges[rangeCount * 2 - 1] == startEpochSecond) {
+            ranges[rangeCount * 2 - 1] = endEpochSecond;
+            return;
+        } else if (rangeCount * 2 == ranges.length) {
+            ranges = Arrays.copyOf(ranges, ranges.length * 2);
+        }
+        ranges[rangeCount * 2] = startEpochSecond;
+        ranges[rangeCount * 2 + 1] = endEpochSecond;
+        rangeCount++;
+    }
+
+    /**
+     * Concatenates the ranges of consecutive partitions, merging the ranges adjacent at the partition boundary.
+     */
+    @NotNull
+    static long[] stitchRanges(@NotNull long[] ranges, @NotNull long[] nextRanges) {
+        if (ranges.length == 0) {
+            return nextRanges;
+        } else if (nextRanges.length == 0) {
+            return ranges;
+        }
+
+        boolean adjacent = ranges[ranges.length - 1] == nextRanges[0];
+        long[] stitchedRanges = Arrays.copyOf(ranges, ranges.length + nextRanges.length - (adjacent ? 2 : 0));
+        if (adjacent) {
+            stitchedRanges[ranges.length - 1] = nextRanges[1];
+            System.arraycopy(nextRanges, 2, stitchedRanges, ranges.length, nextRanges.length - 2);
+        } else {
+            System.arraycopy(nextRanges, 0, stitchedRanges, ranges.length, nextRanges.length);
+        }
+        return stitchedRanges;
+    }
+
+    private static int getDayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7) + 1; //1970-01-01 was a Thursday
+    }
+
+    private static int getLevel(@NotNull ChronoUnit chronoUnit) {
+        for (int i = 0; i < UNITS.length; i++) {
+            if (UNITS[i] == chronoUnit) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Calculates the ranges of a span of years; split in halves until a single year is left.
+     * Never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class PartitionTask extends RecursiveTask<long[]> {
+
+        private final ISeq<ChronoPattern> chronoPatternSeq;
+        private final long beginEpochSecond;
+        private final long endEpochSecond;
+        private final int firstYear;
+        private final int lastYear;
+
+        private PartitionTask(@NotNull ISeq<ChronoPattern> chronoPatternSeq, long beginEpochSecond,
+                              long endEpochSecond, int firstYear, int lastYear) {
+            this.chronoPatternSeq = chronoPatternSeq;
+            this.beginEpochSecond = beginEpochSecond;
+            this.endEpochSecond = endEpochSecond;
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (firstYear == lastYear) {
+                long yearBegin = Math.max(beginEpochSecond, LocalDate.of(firstYear, 1, 1).toEpochDay() * SECONDS_PER_DAY);
+                long yearEnd = Math.min(endEpochSecond, LocalDate.of(firstYear + 1, 1, 1).toEpochDay() * SECONDS_PER_DAY - 1);
+                return new CalendarRangeEngine(chronoPatternSeq, yearBegin, yearEnd).calculateRanges(yearBegin, yearEnd);
+            }
+
+            int middleYear = firstYear + (lastYear - firstYear) / 2;
+            PartitionTask earlierTask = new PartitionTask(chronoPatternSeq, beginEpochSecond, endEpochSecond,
+                    firstYear, middleYear);
+            PartitionTask laterTask = new PartitionTask(chronoPatternSeq, beginEpochSecond, endEpochSecond,
+                    middleYear + 1, lastYear);
+            earlierTask.fork();
+            long[] laterRanges = laterTask.compute();
+            return stitchRanges(earlierTask.join(), laterRanges);
+        }
+    }
+
+}
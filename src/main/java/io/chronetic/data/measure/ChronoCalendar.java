@@ -0,0 +1,180 @@
+package io.chronetic.data.measure;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Calendar arithmetic (truncate/add/between) for every ChronoUnit Chronetic supports, NANOS through MILLENNIA.
+ * Calculated on epoch days and nano of day; unlike {@link LocalDateTime#truncatedTo(java.time.temporal.TemporalUnit)}
+ * no exception is thrown for units longer than a day.
+ * <p>
+ * WEEKS are aligned to the month (see {@link ChronoScale#getChronoField(ChronoUnit)}) which makes the last week of a
+ * month shorter than seven days; times are not truncated to WEEKS.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+public final class ChronoCalendar {
+
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private ChronoCalendar() {
+        //suppresses default constructor
+    }
+
+    /**
+     * Determines whether the given ChronoUnit is supported by ChronoCalendar.
+     *
+     * @param chronoUnit ChronoUnit to consider
+     * @return whether the given ChronoUnit is supported
+     */
+    public static boolean isSupported(@NotNull ChronoUnit chronoUnit) {
+        return requireNonNull(chronoUnit) != ChronoUnit.ERAS && chronoUnit != ChronoUnit.FOREVER;
+    }
+
+    /**
+     * Truncates the given LocalDateTime to the start of its given ChronoUnit.
+     * MONTHS start on the first day of the month; YEARS, DECADES, CENTURIES and MILLENNIA on the first day
+     * of a year divisible by their amount of years.
+     *
+     * @param dateTime LocalDateTime to truncate
+     * @param chronoUnit supported ChronoUnit to truncate to
+     * @return truncated LocalDateTime; the given LocalDateTime for WEEKS
+     */
+    @NotNull
+    public static LocalDateTime truncate(@NotNull LocalDateTime dateTime, @NotNull ChronoUnit chronoUnit) {
+        switch (requireNonNull(chronoUnit)) {
+            case NANOS:
+                return requireNonNull(dateTime);
+            case MICROS:
+            case MILLIS:
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case HALF_DAYS:
+            case DAYS:
+                long unitNanos = chronoUnit.getDuration().toNanos();
+                long nanoOfDay = dateTime.toLocalTime().toNanoOfDay();
+                return LocalDateTime.of(dateTime.toLocalDate(), LocalTime.ofNanoOfDay(nanoOfDay - nanoOfDay % unitNanos));
+            case WEEKS:
+                return requireNonNull(dateTime);
+            case MONTHS:
+                return LocalDate.of(dateTime.getYear(), dateTime.getMonthValue(), 1).atStartOfDay();
+            case YEARS:
+            case DECADES:
+            case CENTURIES:
+            case MILLENNIA:
+                int year = dateTime.getYear();
+                return LocalDate.of(year - Math.floorMod(year, getYears(chronoUnit)), 1, 1).atStartOfDay();
+            default:
+                throw new UnsupportedOperationException("Unsupported chrono unit: " + chronoUnit);
+        }
+    }
+
+    /**
+     * Adds the given amount of the given ChronoUnit to the given LocalDateTime.
+     *
+     * @param dateTime LocalDateTime to add to
+     * @param amount amount of the given ChronoUnit to add; may be negative
+     * @param chronoUnit supported ChronoUnit to add
+     * @return LocalDateTime with the given amount added
+     */
+    @NotNull
+    public static LocalDateTime add(@NotNull LocalDateTime dateTime, long amount, @NotNull ChronoUnit chronoUnit) {
+        switch (requireNonNull(chronoUnit)) {
+            case NANOS:
+            case MICROS:
+            case MILLIS:
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case HALF_DAYS:
+                return requireNonNull(dateTime).plus(amount, chronoUnit);
+            case DAYS:
+                return requireNonNull(dateTime).plusDays(amount);
+            case WEEKS:
+                return requireNonNull(dateTime).plusDays(Math.multiplyExact(amount, 7));
+            case MONTHS:
+                return requireNonNull(dateTime).plusMonths(amount);
+            case YEARS:
+            case DECADES:
+            case CENTURIES:
+            case MILLENNIA:
+                return requireNonNull(dateTime).plusYears(Math.multiplyExact(amount, getYears(chronoUnit)));
+            default:
+                throw new UnsupportedOperationException("Unsupported chrono unit: " + chronoUnit);
+        }
+    }
+
+    /**
+     * Returns amount of complete ChronoUnits between the given LocalDateTimes;
+     * same as {@link ChronoUnit#between(java.time.temporal.Temporal, java.time.temporal.Temporal)}.
+     *
+     * @param start start LocalDateTime (inclusive)
+     * @param end end LocalDateTime (exclusive)
+     * @param chronoUnit supported ChronoUnit to count
+     * @return amount of ChronoUnits between the given LocalDateTimes; negative if end is before start
+     */
+    public static long between(@NotNull LocalDateTime start, @NotNull LocalDateTime end, @NotNull ChronoUnit chronoUnit) {
+        long days = requireNonNull(end).toLocalDate().toEpochDay() - requireNonNull(start).toLocalDate().toEpochDay();
+        long nanos = end.toLocalTime().toNanoOfDay() - start.toLocalTime().toNanoOfDay();
+        switch (requireNonNull(chronoUnit)) {
+            case NANOS:
+            case MICROS:
+            case MILLIS:
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case HALF_DAYS:
+                //only complete days; remainder within nano of day
+                if (days > 0 && nanos < 0) {
+                    days--;
+                    nanos += NANOS_PER_DAY;
+                } else if (days < 0 && nanos > 0) {
+                    days++;
+                    nanos -= NANOS_PER_DAY;
+                }
+                long unitNanos = chronoUnit.getDuration().toNanos();
+                return Math.addExact(Math.multiplyExact(days, NANOS_PER_DAY / unitNanos), nanos / unitNanos);
+            case DAYS:
+            case WEEKS:
+                if (days > 0 && nanos < 0) {
+                    days--;
+                } else if (days < 0 && nanos > 0) {
+                    days++;
+                }
+                return chronoUnit == ChronoUnit.WEEKS ? days / 7 : days;
+            case MONTHS:
+            case YEARS:
+            case DECADES:
+            case CENTURIES:
+            case MILLENNIA:
+                //end day of month clamps to shorter months; counted as LocalDateTime does
+                long months = start.until(end, ChronoUnit.MONTHS);
+                return chronoUnit == ChronoUnit.MONTHS ? months : months / (12L * getYears(chronoUnit));
+            default:
+                throw new UnsupportedOperationException("Unsupported chrono unit: " + chronoUnit);
+        }
+    }
+
+    private static int getYears(@NotNull ChronoUnit chronoUnit) {
+        switch (chronoUnit) {
+            case DECADES:
+                return 10;
+            case CENTURIES:
+                return 100;
+            case MILLENNIA:
+                return 1000;
+            default:
+                return 1;
+        }
+    }
+
+}
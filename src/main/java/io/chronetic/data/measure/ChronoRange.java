@@ -1,7 +1,7 @@
 package io.chronetic.data.measure;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import io.chronetic.data.CacheRegistry;
 import io.chronetic.data.ChronoSeries;
 import io.chronetic.evolution.pool.ChronoGene;
 import io.chronetic.evolution.pool.allele.ChronoPattern;
@@ -10,18 +10,14 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.UnsupportedTemporalTypeException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Stream;
 
-import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -43,18 +39,15 @@ public class ChronoRange {
     @NotNull
     public static ChronoRange getChronoRange(@NotNull ChronoSeries chronoSeries, @NotNull ISeq<ChronoGene> genes) {
         ChronoRange range = new ChronoRange(requireNonNull(chronoSeries), requireNonNull(genes));
-        Cache<ISeq<ChronoPattern>, ChronoRange> cacheChronoRange = cacheMap.get(chronoSeries);
-        if (cacheChronoRange == null) {
-            cacheChronoRange = CacheBuilder.newBuilder().build();
-            cacheMap.put(chronoSeries, cacheChronoRange);
-        }
+        Cache<ISeq<ChronoPattern>, ChronoRange> cacheChronoRange = CacheRegistry.getCache(
+                chronoSeries, CacheRegistry.Region.CHRONO_RANGES);
 
         ChronoRange cacheRange = cacheChronoRange.getIfPresent(range.chronoPatternSeq);
-        if (cacheRange != null) {
+        if (cacheRange != null && cacheRange.seriesEndTimestamp.equals(range.seriesEndTimestamp)) {
             return cacheRange;
         } else {
             if (range.validRange) {
-                range.calculateTimestampRanges();
+                range.calculateTimestampRanges(cacheChronoRange);
             }
 
             cacheChronoRange.put(range.chronoPatternSeq, range);
@@ -63,16 +56,24 @@ public class ChronoRange {
     }
 
     private final static Logger logger = LoggerFactory.getLogger(ChronoRange.class);
+    private final static int UNIT_COUNT = ChronoUnit.values().length;
 
-    private static final Map<ChronoSeries, Cache<ISeq<ChronoPattern>, ChronoRange>> cacheMap = new IdentityHashMap<>();
-    private final ChronoSeries chronoSeries;
+    private final WeakReference<ChronoSeries> chronoSeries; //cached ChronoRanges mustn't keep their series reachable
+    private final Instant seriesEndTimestamp;
+    private final LocalDateTime seriesBeginLocalDateTime;
+    private final LocalDateTime seriesEndLocalDateTime;
     private final ChronoScale chronoScale;
-    private final ArrayList<Instant[]> timestampRanges;
+    private long[] rangeStartNanos = new long[4];
+    private long[] rangeEndNanos = new long[4];
+    private int rangeCount;
+    private PeriodicRange periodicRange;
     private final ISeq<ChronoPattern> chronoPatternSeq;
     private final ChronoPattern smallestPattern;
     private LocalDateTime patternStartLocalDateTime;
     private LocalDateTime patternEndLocalDateTime;
+    private long patternEndNanos;
     private boolean includeEndingTimestamp;
+    private boolean calendarRanges;
     private boolean fullyConceptual;
     private boolean searchRange = true;
     private Duration rangeDuration = Duration.ZERO;
@@ -80,33 +81,111 @@ public class ChronoRange {
     private ChronoScaleUnit tempSkipUnit;
     private boolean validRange = true;
 
+    //per unit (ChronoUnit ordinal) lookup tables of the ChronoPattern sequence
+    private final int[] patternUnits;
+    private final int[] unitPatternCounts = new int[UNIT_COUNT];
+    private final ChronoScaleUnit[] unitScaleUnits = new ChronoScaleUnit[UNIT_COUNT];
+    private final boolean[] wildcardUnits = new boolean[UNIT_COUNT];
+    private final long[] unitValueMasks = new long[UNIT_COUNT]; //temporal values 0-63
+    private final int[][] unitLargeValues = new int[UNIT_COUNT][]; //other temporal values; e.g. years
+    private final int[] unitMaxValues = new int[UNIT_COUNT];
+
     private ChronoRange(@NotNull ChronoSeries chronoSeries, @NotNull ISeq<ChronoGene> genes) {
-        this.chronoSeries = requireNonNull(chronoSeries);
+        this.chronoSeries = new WeakReference<>(requireNonNull(chronoSeries));
+        seriesEndTimestamp = chronoSeries.getEndTimestamp(); //ranges are recalculated once the series grows
+        seriesBeginLocalDateTime = chronoSeries.getBeginLocalDateTime();
+        seriesEndLocalDateTime = chronoSeries.getEndLocalDateTime();
         chronoPatternSeq = requireNonNull(genes).stream()
                 .filter(g -> g.getAllele() instanceof ChronoPattern)
                 .map(g -> (ChronoPattern) g.getAllele())
                 .sorted((o1, o2) -> o2.getChronoScaleUnit().getChronoUnit().compareTo(o1.getChronoScaleUnit().getChronoUnit()))
                 .collect(ISeq.toISeq());
 
-        timestampRanges = new ArrayList<>();
         chronoScale = chronoSeries.getChronoScale();
         limitScaleUnit = chronoScale.getParentChronoScaleUnitLimit(chronoSeries.getDuration());
         fullyConceptual = chronoPatternSeq.stream()
                 .noneMatch(chronoPattern -> chronoPattern.getTemporalValue().isPresent());
 
+        int distinctUnitCount = 0;
+        Arrays.fill(unitMaxValues, Integer.MIN_VALUE);
+        Arrays.fill(unitLargeValues, new int[0]);
+        for (ChronoPattern chronoPattern : chronoPatternSeq) {
+            int unit = chronoPattern.getChronoScaleUnit().getChronoUnit().ordinal();
+            if (unitPatternCounts[unit]++ == 0) {
+                unitScaleUnits[unit] = chronoPattern.getChronoScaleUnit();
+                distinctUnitCount++;
+            }
+
+            OptionalInt temporalValue = chronoPattern.getTemporalValue();
+            if (!temporalValue.isPresent()) {
+                wildcardUnits[unit] = true;
+                continue;
+            }
+            int value = temporalValue.getAsInt();
+            if (value >= 0 && value < 64) {
+                unitValueMasks[unit] |= 1L << value;
+            } else {
+                unitLargeValues[unit] = Arrays.copyOf(unitLargeValues[unit], unitLargeValues[unit].length + 1);
+                unitLargeValues[unit][unitLargeValues[unit].length - 1] = value;
+            }
+            unitMaxValues[unit] = Math.max(unitMaxValues[unit], value);
+        }
+        patternUnits = new int[distinctUnitCount];
+        for (int unit = 0, i = 0; unit < UNIT_COUNT; unit++) {
+            if (unitPatternCounts[unit] > 0) {
+                patternUnits[i++] = unit;
+            }
+        }
+
         if (chronoPatternSeq.isEmpty()) {
             validRange = false;
             smallestPattern = null;
             rangeDuration = chronoSeries.getDuration();
-            addRange(chronoSeries.getBeginLocalDateTime(), chronoSeries.getEndLocalDateTime());
+            addRange(seriesBeginLocalDateTime, seriesEndLocalDateTime);
         } else {
             smallestPattern = chronoPatternSeq.get(chronoPatternSeq.size() - 1);
         }
     }
 
-    private void calculateTimestampRanges() {
-        LocalDateTime endTime = chronoSeries.getEndLocalDateTime();
-        LocalDateTime itrTime = chronoSeries.getBeginLocalDateTime();
+    private void calculateTimestampRanges(@NotNull Cache<ISeq<ChronoPattern>, ChronoRange> cacheChronoRange) {
+        LocalDateTime endTime = seriesEndLocalDateTime;
+        LocalDateTime itrTime = seriesBeginLocalDateTime;
+
+        Optional<PeriodicRange> periodicRange = PeriodicRange.of(chronoPatternSeq,
+                toEpochNanos(itrTime), toEpochNanos(endTime));
+        if (periodicRange.isPresent()) {
+            logger.debug("Calculating periodic ranges");
+            this.periodicRange = periodicRange.get();
+            int size = this.periodicRange.getSize();
+            if (size > 0) {
+                patternStartLocalDateTime = toLocalDateTime(this.periodicRange.getStartNanos(0));
+                patternEndLocalDateTime = toLocalDateTime(this.periodicRange.getEndNanos(size - 1));
+                includeEndingTimestamp = this.periodicRange.isEndIncluded();
+            }
+            searchRange = false;
+        } else if (CalendarRangeEngine.supports(chronoPatternSeq) && refineTimestampRanges(cacheChronoRange)) {
+            logger.debug("Refined ranges of cached ancestor");
+            calendarRanges = true;
+            searchRange = false;
+        } else if (CalendarRangeEngine.supports(chronoPatternSeq)) {
+            logger.debug("Calculating ranges arithmetically");
+            long[] ranges = CalendarRangeEngine.calculateRanges(chronoPatternSeq,
+                    itrTime.toEpochSecond(ZoneOffset.UTC), endTime.toEpochSecond(ZoneOffset.UTC));
+            for (int i = 0; i < ranges.length; i += 2) {
+                LocalDateTime rangeStart = LocalDateTime.ofEpochSecond(ranges[i], 0, ZoneOffset.UTC);
+                LocalDateTime rangeEnd = LocalDateTime.ofEpochSecond(ranges[i + 1], 0, ZoneOffset.UTC);
+                if (patternStartLocalDateTime == null) {
+                    patternStartLocalDateTime = rangeStart;
+                }
+                if (rangeEnd.isAfter(endTime)) {
+                    includeEndingTimestamp = true;
+                }
+                addRange(rangeStart, rangeEnd);
+                patternEndLocalDateTime = rangeEnd;
+            }
+            calendarRanges = true;
+            searchRange = false;
+        }
 
         logger.debug("Starting range determine loop");
         while (searchRange && (itrTime.isEqual(endTime) || itrTime.isBefore(endTime))) {
@@ -126,19 +205,96 @@ public class ChronoRange {
         }
         logger.debug("Finished range determine loop");
 
-        if (patternStartLocalDateTime != null && patternStartLocalDateTime.isBefore(chronoSeries.getBeginLocalDateTime())) {
-            patternStartLocalDateTime = chronoSeries.getBeginLocalDateTime();
+        if (patternStartLocalDateTime != null && patternStartLocalDateTime.isBefore(seriesBeginLocalDateTime)) {
+            patternStartLocalDateTime = seriesBeginLocalDateTime;
         }
-        if (patternEndLocalDateTime != null && patternEndLocalDateTime.isAfter(chronoSeries.getEndLocalDateTime())) {
-            patternEndLocalDateTime = chronoSeries.getEndLocalDateTime();
+        if (patternEndLocalDateTime != null && patternEndLocalDateTime.isAfter(seriesEndLocalDateTime)) {
+            patternEndLocalDateTime = seriesEndLocalDateTime;
         }
 
-        for (Instant[] instants : timestampRanges) {
-            rangeDuration = rangeDuration.plus(Duration.between(instants[0], instants[1]));
+        if (patternEndLocalDateTime != null) {
+            patternEndNanos = toEpochNanos(patternEndLocalDateTime);
+        }
+        if (this.periodicRange != null) {
+            rangeDuration = this.periodicRange.getDuration();
+        } else {
+            long durationNanos = 0;
+            for (int i = 0; i < rangeCount; i++) {
+                durationNanos += rangeEndNanos[i] - rangeStartNanos[i];
+            }
+            rangeDuration = Duration.ofNanos(durationNanos);
         }
         logger.debug("Range duration: " + rangeDuration);
     }
 
+    /**
+     * Derives the ranges of this ChronoRange from the cached ranges of an ancestor ChronoPattern sequence which lacks
+     * a single unit of this sequence; the ancestor's ranges are narrowed to the unit's temporal values. Offspring which
+     * add a temporal value to an existing unit are widened the same way, from the ancestor without that unit.
+     *
+     * @return whether an ancestor was cached and ranges were derived
+     */
+    private boolean refineTimestampRanges(@NotNull Cache<ISeq<ChronoPattern>, ChronoRange> cacheChronoRange) {
+        ChronoUnit previousUnit = null;
+        for (ChronoPattern chronoPattern : chronoPatternSeq) {
+            ChronoUnit chronoUnit = chronoPattern.getChronoScaleUnit().getChronoUnit();
+            if (chronoUnit == previousUnit) {
+                continue; //sequence is sorted by unit
+            }
+            previousUnit = chronoUnit;
+
+            ISeq<ChronoPattern> ancestorPatternSeq = chronoPatternSeq.stream()
+                    .filter(p -> p.getChronoScaleUnit().getChronoUnit() != chronoUnit)
+                    .collect(ISeq.toISeq());
+            if (ancestorPatternSeq.isEmpty()) {
+                continue;
+            }
+            ChronoRange ancestorRange = cacheChronoRange.getIfPresent(ancestorPatternSeq);
+            if (ancestorRange != null && ancestorRange.calendarRanges
+                    && ancestorRange.seriesEndTimestamp.equals(seriesEndTimestamp)) {
+                refineTimestampRanges(ancestorRange, chronoPatternSeq.stream()
+                        .filter(p -> p.getChronoScaleUnit().getChronoUnit() == chronoUnit)
+                        .collect(ISeq.toISeq()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refineTimestampRanges(@NotNull ChronoRange ancestorRange, @NotNull ISeq<ChronoPattern> unitPatternSeq) {
+        long seriesEndNanos = toEpochNanos(seriesEndLocalDateTime);
+        CalendarRangeEngine calendarRangeEngine = CalendarRangeEngine.of(unitPatternSeq,
+                seriesBeginLocalDateTime.toEpochSecond(ZoneOffset.UTC), seriesEndLocalDateTime.toEpochSecond(ZoneOffset.UTC));
+        for (int i = 0; i < ancestorRange.rangeCount; i++) {
+            long ancestorStartNanos = ancestorRange.rangeStartNanos[i];
+            long ancestorEndNanos = ancestorRange.rangeEndNanos[i];
+            if (ancestorStartNanos >= ancestorEndNanos) {
+                continue;
+            }
+
+            long[] unitRanges = calendarRangeEngine.calculateRanges(Math.floorDiv(ancestorStartNanos, 1_000_000_000L),
+                    Math.floorDiv(ancestorEndNanos - 1, 1_000_000_000L));
+            for (int j = 0; j < unitRanges.length; j += 2) {
+                long startNanos = Math.max(ancestorStartNanos, unitRanges[j] * 1_000_000_000L);
+                long endNanos = Math.min(ancestorEndNanos, unitRanges[j + 1] * 1_000_000_000L);
+                if (startNanos < endNanos) {
+                    addRange(startNanos, endNanos);
+                }
+            }
+        }
+
+        //ending timestamp is included when matched by both the ancestor and the unit
+        includeEndingTimestamp = ancestorRange.includeEndingTimestamp
+                && calendarRangeEngine.isMatching(seriesEndLocalDateTime.toEpochSecond(ZoneOffset.UTC));
+        if (includeEndingTimestamp && (rangeCount == 0 || rangeEndNanos[rangeCount - 1] != seriesEndNanos)) {
+            addRange(seriesEndNanos, seriesEndNanos);
+        }
+        if (rangeCount > 0) {
+            patternStartLocalDateTime = toLocalDateTime(rangeStartNanos[0]);
+            patternEndLocalDateTime = toLocalDateTime(rangeEndNanos[rangeCount - 1]);
+        }
+    }
+
     @NotNull
     private LocalDateTime progressTime(@NotNull LocalDateTime endTime, @NotNull LocalDateTime itrTime,
                                        @NotNull ChronoPattern chronoPattern) {
@@ -146,16 +302,6 @@ public class ChronoRange {
         ChronoUnit chronoUnit = chronoScaleUnit.getChronoUnit();
 
         LocalDateTime startItrTime = itrTime;
-        try {
-            itrTime = itrTime.truncatedTo(chronoUnit);
-        } catch (UnsupportedTemporalTypeException ex) {
-            //do nothing
-        } finally {
-            if (itrTime.isBefore(startItrTime)) {
-                itrTime = startItrTime;
-            }
-        }
-
         LocalDateTime itrStartTime = itrTime;
         if (!allMatch(itrTime)) {
             if (isMultiUnit(chronoPattern.getChronoScaleUnit().getChronoUnit())) {
@@ -169,53 +315,26 @@ public class ChronoRange {
 
             if (chronoPattern.getTemporalValue().isPresent()) {
                 int patternValue = chronoPattern.getTemporalValue().getAsInt();
-                LocalDateTime asTime = chronoScaleUnit.getChronoField().adjustInto(itrTime, patternValue);
-                try {
-                    asTime = asTime.truncatedTo(chronoUnit);
-                } catch (UnsupportedTemporalTypeException ex) {
-                    if (chronoUnit == ChronoUnit.YEARS) {
-                        //truncate to beginning of year
-                        asTime = asTime.with(firstDayOfYear()).truncatedTo(ChronoUnit.DAYS);
-                    } else if (chronoUnit == ChronoUnit.MONTHS) {
-                        //truncate to beginning of month
-                        asTime = asTime.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
-                    } else {
-                        //throw new UnsupportedOperationException();
-                    }
-                } finally {
-                    if (asTime.isBefore(startItrTime)) {
-                        asTime = chronoScaleUnit.getChronoField().adjustInto(itrTime, patternValue);
-                    }
+                LocalDateTime asTime = ChronoCalendar.truncate(
+                        chronoScaleUnit.getChronoField().adjustInto(itrTime, patternValue), chronoUnit);
+                if (asTime.isBefore(startItrTime)) {
+                    asTime = chronoScaleUnit.getChronoField().adjustInto(itrTime, patternValue);
                 }
 
                 if (asTime.isBefore(itrTime)) {
                     //skip to next occurrence
                     ChronoScaleUnit parentScaleUnit = chronoScale.getParentChronoScaleUnit(chronoUnit);
-                    LocalDateTime desiredTime = asTime.plus(1, parentScaleUnit.getChronoUnit());
-
-                    try {
-                        desiredTime = desiredTime.truncatedTo(chronoUnit);
-                    } catch (UnsupportedTemporalTypeException ex) {
-                        if (chronoUnit == ChronoUnit.YEARS) {
-                            //truncate to beginning of year
-                            desiredTime = desiredTime.with(firstDayOfYear()).truncatedTo(ChronoUnit.DAYS);
-                        } else if (chronoUnit == ChronoUnit.MONTHS) {
-                            //truncate to beginning of month
-                            desiredTime = desiredTime.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
-                        } else {
-                            //throw new UnsupportedOperationException();
-                        }
-                    } finally {
-                        if (desiredTime.isBefore(startItrTime)) {
-                            desiredTime = asTime.plus(1, parentScaleUnit.getChronoUnit());
-                        }
+                    LocalDateTime desiredTime = ChronoCalendar.truncate(
+                            ChronoCalendar.add(asTime, 1, parentScaleUnit.getChronoUnit()), chronoUnit);
+                    if (desiredTime.isBefore(startItrTime)) {
+                        desiredTime = ChronoCalendar.add(asTime, 1, parentScaleUnit.getChronoUnit());
                     }
 
-                    long until = itrTime.until(desiredTime, chronoUnit);
+                    long until = ChronoCalendar.between(itrTime, desiredTime, chronoUnit);
                     if (until == 0) {
                         itrTime = desiredTime;
                     } else {
-                        itrTime = itrTime.plus(until, chronoUnit);
+                        itrTime = ChronoCalendar.add(itrTime, until, chronoUnit);
                     }
                 } else {
                     //after itrTime. make itrTime asTime
@@ -242,20 +361,13 @@ public class ChronoRange {
                     }
                 }
 
-                itrTime = itrTime.plus(1, chronoUnit);
-                try {
-                    itrTime = itrTime.truncatedTo(chronoUnit);
-                } catch (UnsupportedTemporalTypeException ex) {
-                    if (chronoUnit == ChronoUnit.MONTHS) {
-                        //truncate to beginning of month
-                        itrTime = itrTime.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
-                    } else {
-                        //throw new UnsupportedOperationException();
-                    }
-                } finally {
-                    if (itrTime.isBefore(startItrTime)) {
-                        itrTime = itrTime.plus(1, chronoUnit);
-                    }
+                itrTime = ChronoCalendar.add(itrTime, 1, chronoUnit);
+                if (chronoUnit != ChronoUnit.YEARS) {
+                    //years progress from the time within the year
+                    itrTime = ChronoCalendar.truncate(itrTime, chronoUnit);
+                }
+                if (itrTime.isBefore(startItrTime)) {
+                    itrTime = ChronoCalendar.add(itrTime, 1, chronoUnit);
                 }
 
                 if (itrTime.isAfter(endTime)) {
@@ -278,15 +390,15 @@ public class ChronoRange {
                     searchRange = false;
                 } else {
                     ChronoScaleUnit parentScaleUnit = getLocalParent(chronoUnit);
-                    LocalDateTime desiredTime = itrTime.plus(1, parentScaleUnit.getChronoUnit());
+                    LocalDateTime desiredTime = ChronoCalendar.add(itrTime, 1, parentScaleUnit.getChronoUnit());
                     if (desiredTime.isAfter(endTime)) {
                         desiredTime = endTime;
                         includeEndingTimestamp = !desiredTime.isEqual(endTime);
                         searchRange = false;
                     }
-                    long until = itrTime.until(desiredTime, chronoUnit);
+                    long until = ChronoCalendar.between(itrTime, desiredTime, chronoUnit);
 
-                    itrTime = itrTime.plus(until, chronoUnit);
+                    itrTime = ChronoCalendar.add(itrTime, until, chronoUnit);
                     addRange(itrStartTime, itrTime);
                     patternEndLocalDateTime = itrTime;
                 }
@@ -321,28 +433,26 @@ public class ChronoRange {
     }
 
     private void addRange(@NotNull LocalDateTime start, @NotNull LocalDateTime end) {
-        if (requireNonNull(start).isBefore(chronoSeries.getBeginLocalDateTime())) {
-            start = chronoSeries.getBeginLocalDateTime();
+        if (requireNonNull(start).isBefore(seriesBeginLocalDateTime)) {
+            start = seriesBeginLocalDateTime;
         }
-        if (requireNonNull(end).isAfter(chronoSeries.getEndLocalDateTime())) {
-            end = chronoSeries.getEndLocalDateTime();
+        if (requireNonNull(end).isAfter(seriesEndLocalDateTime)) {
+            end = seriesEndLocalDateTime;
         }
 
-        Instant startEpoch = start.atZone(ZoneOffset.UTC).toInstant();
-        Instant endEpoch = end.atZone(ZoneOffset.UTC).toInstant();
-
-        boolean updatedRange = false;
-        if (!timestampRanges.isEmpty()) {
-            Instant[] range = timestampRanges.get(timestampRanges.size() - 1);
-            if (range[1].equals(startEpoch)) {
-                timestampRanges.set(timestampRanges.size() - 1, new Instant[]{range[0], endEpoch});
-                updatedRange = true;
-            }
-        }
+        addRange(toEpochNanos(start), toEpochNanos(end));
+    }
 
-        if (!updatedRange) {
-            timestampRanges.add(new Instant[]{startEpoch, endEpoch});
+    private void addRange(long startNanos, long endNanos) {
+        if (rangeCount > 0 && rangeEndNanos[rangeCount - 1] == startNanos) {
+            rangeEndNanos[rangeCount - 1] = endNanos;
+            return;
+        } else if (rangeCount == rangeStartNanos.length) {
+            rangeStartNanos = Arrays.copyOf(rangeStartNanos, rangeCount * 2);
+            rangeEndNanos = Arrays.copyOf(rangeEndNanos, rangeCount * 2);
         }
+        rangeStartNanos[rangeCount] = startNanos;
+        rangeEndNanos[rangeCount++] = endNanos;
     }
 
     /**
@@ -356,12 +466,48 @@ public class ChronoRange {
 
     /**
      * Returns list of the being/end timestamps of this ChronoRange.
+     * The list is a view which creates the timestamps on access.
      *
      * @return list Instant[] (begin/end timestamp)
      */
     @NotNull
     public List<Instant[]> getTimestampRanges() {
-        return timestampRanges;
+        return new TimestampRangeList();
+    }
+
+    /**
+     * Returns amount of timestamp ranges of this ChronoRange.
+     *
+     * @return amount of timestamp ranges
+     */
+    public int getRangeCount() {
+        return periodicRange != null ? periodicRange.getSize() : rangeCount;
+    }
+
+    /**
+     * Returns begin timestamp of the given timestamp range as epoch nanoseconds.
+     *
+     * @param index timestamp range index
+     * @return begin epoch nanoseconds of the given timestamp range
+     */
+    public long getRangeStartNanos(int index) {
+        if (index < 0 || index >= getRangeCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + "; Size: " + getRangeCount());
+        }
+        return periodicRange != null ? periodicRange.getStartNanos(index) : rangeStartNanos[index];
+    }
+
+    /**
+     * Returns end timestamp of the given timestamp range as epoch nanoseconds.
+     *
+     * @param index timestamp range index
+     * @return end epoch nanoseconds of the given timestamp range
+     */
+    public long getRangeEndNanos(int index) {
+        if (index < 0 || index >= getRangeCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + "; Size: " + getRangeCount());
+        }
+        return periodicRange != null ? periodicRange.getEndNanos(index) : rangeEndNanos[index];
     }
 
     /**
@@ -375,16 +521,59 @@ public class ChronoRange {
             return true;
         }
 
-        for (Instant[] longArr : timestampRanges) {
-            if ((timestamp.isAfter(longArr[0]) || timestamp.equals(longArr[0])) && (timestamp.isBefore(longArr[1]))) {
-                return true;
-            }
-            if (timestamp.equals(longArr[1]) && patternEndLocalDateTime != null &&
-                    timestamp.equals(patternEndLocalDateTime.toInstant(ZoneOffset.UTC)) && includeEndingTimestamp) {
-                return true;
+        long epochNanos = toEpochNanos(timestamp);
+        if (periodicRange != null) {
+            return periodicRange.contains(epochNanos);
+        }
+
+        if (isEndingTimestampIncluded(epochNanos)) {
+            return true;
+        }
+
+        //last timestamp range starting at/before the timestamp
+        int low = 0;
+        int high = rangeCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rangeStartNanos[mid] <= epochNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return false;
+        return low > 0 && epochNanos < rangeEndNanos[low - 1];
+    }
+
+    /**
+     * Determines whether the given end timestamp of one of this ChronoRange's
+     * timestamp ranges is itself included in this ChronoRange.
+     *
+     * @param rangeEndTimestamp end timestamp of a timestamp range
+     * @return whether or not the given end timestamp is included
+     */
+    public boolean isEndingTimestampIncluded(@NotNull Instant rangeEndTimestamp) {
+        return isEndingTimestampIncluded(toEpochNanos(requireNonNull(rangeEndTimestamp)));
+    }
+
+    /**
+     * Determines whether the given end epoch nanoseconds of one of this ChronoRange's
+     * timestamp ranges are themselves included in this ChronoRange.
+     *
+     * @param rangeEndNanos end epoch nanoseconds of a timestamp range
+     * @return whether or not the given end epoch nanoseconds are included
+     */
+    public boolean isEndingTimestampIncluded(long rangeEndNanos) {
+        return includeEndingTimestamp && patternEndLocalDateTime != null && rangeEndNanos == patternEndNanos;
+    }
+
+    /**
+     * Determines whether the timestamp ranges of this ChronoRange repeat with a fixed period.
+     * Periodic timestamp ranges are created on access rather than held in memory.
+     *
+     * @return whether or not this ChronoRange is periodic
+     */
+    public boolean isPeriodic() {
+        return periodicRange != null;
     }
 
     /**
@@ -456,6 +645,19 @@ public class ChronoRange {
         if (!validRange || !requireNonNull(chronoRange).validRange) {
             return true;
         }
+        ChronoSeries chronoSeries = this.chronoSeries.get();
+        if (chronoSeries != null && chronoRange.chronoSeries.get() == chronoSeries) {
+            Optional<Boolean> sharingEvents = chronoSeries.isSharingEvents(this, chronoRange);
+            if (sharingEvents.isPresent()) {
+                return sharingEvents.get();
+            }
+        }
+        if (periodicRange != null && chronoRange.periodicRange != null) {
+            Optional<Boolean> overlapping = periodicRange.isOverlapping(chronoRange.periodicRange);
+            if (overlapping.isPresent()) {
+                return overlapping.get();
+            }
+        }
 
         ISeq<ChronoPattern> chronoPatterns = getChronoPatternSeq();
         ISeq<ChronoPattern> otherChronoPatterns = chronoRange.getChronoPatternSeq();
@@ -568,41 +770,42 @@ public class ChronoRange {
         return false;
     }
 
+    @NotNull
+    private static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                (int) Math.floorMod(epochNanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    @NotNull
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    private static long toEpochNanos(@NotNull LocalDateTime localDateTime) {
+        return toEpochNanos(localDateTime.toInstant(ZoneOffset.UTC));
+    }
+
+    private static long toEpochNanos(@NotNull Instant timestamp) {
+        return timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano();
+    }
+
     private boolean allMatch(@NotNull LocalDateTime itrTime) {
         //do 'all match' by unit, do 'any match' on units
-        Stream<ChronoUnit> chronoUnitStream = chronoPatternSeq.stream()
-                .map(chronoPattern -> chronoPattern.getChronoScaleUnit().getChronoUnit())
-                .distinct();
-
-        AtomicBoolean allMatch = new AtomicBoolean(true);
-        chronoUnitStream.forEach(
-                chronoUnit -> {
-                    boolean match = chronoPatternSeq.stream()
-                            .filter(chronoPattern -> chronoPattern.getChronoScaleUnit().getChronoUnit().equals(chronoUnit))
-                            .anyMatch(chronoPattern -> !chronoPattern.getTemporalValue().isPresent() ||
-                                    itrTime.get(chronoPattern.getChronoScaleUnit().getChronoField()) ==
-                                            chronoPattern.getTemporalValue().getAsInt());
-                    if (!match) {
-                        allMatch.set(false);
-                    }
-                }
-        );
-        return allMatch.get();
+        for (int unit : patternUnits) {
+            if (!isUnitMatch(itrTime, unit)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private boolean isMultiUnit(@NotNull ChronoUnit chronoUnit) {
-        return chronoPatternSeq.stream()
-                .map(chronoPattern -> chronoPattern.getChronoScaleUnit().getChronoUnit())
-                .filter(unit -> unit.equals(chronoUnit))
-                .count() > 1;
+        return unitPatternCounts[chronoUnit.ordinal()] > 1;
     }
 
     private boolean anyUnitMatch(@NotNull LocalDateTime itrTime, @NotNull ChronoUnit currentChronoUnit) {
-        return chronoPatternSeq.stream()
-                .filter(chronoPattern -> chronoPattern.getChronoScaleUnit().getChronoUnit().equals(currentChronoUnit))
-                .anyMatch(chronoPattern -> !chronoPattern.getTemporalValue().isPresent() ||
-                        itrTime.get(chronoPattern.getChronoScaleUnit().getChronoField()) ==
-                                chronoPattern.getTemporalValue().getAsInt());
+        int unit = currentChronoUnit.ordinal();
+        return unitPatternCounts[unit] > 0 && isUnitMatch(itrTime, unit);
     }
 
     private boolean pastPatternMatch(@NotNull LocalDateTime itrTime, @NotNull ChronoPattern chronoPattern) {
@@ -612,17 +815,45 @@ public class ChronoRange {
     }
 
     private boolean allPastPatternMatch(@NotNull LocalDateTime itrTime, @NotNull ChronoUnit chronoUnit) {
-        AtomicBoolean allPast = new AtomicBoolean(true);
-        chronoPatternSeq.stream()
-                .filter(pattern -> pattern.getChronoScaleUnit().getChronoUnit().equals(chronoUnit))
-                .forEach(
-                        chronoPattern -> {
-                            if (itrTime.get(chronoPattern.getChronoScaleUnit().getChronoField()) < chronoPattern.getTemporalValue().getAsInt()) {
-                                allPast.set(false);
-                            }
-                        }
-                );
-        return allPast.get();
+        int unit = chronoUnit.ordinal();
+        return unitPatternCounts[unit] == 0
+                || itrTime.get(unitScaleUnits[unit].getChronoField()) >= unitMaxValues[unit];
+    }
+
+    /**
+     * Determines whether any ChronoPattern of the given unit (ChronoUnit ordinal) matches the given time.
+     */
+    private boolean isUnitMatch(@NotNull LocalDateTime itrTime, int unit) {
+        if (wildcardUnits[unit]) {
+            return true;
+        }
+
+        int value = itrTime.get(unitScaleUnits[unit].getChronoField());
+        if (value >= 0 && value < 64) {
+            return (unitValueMasks[unit] & (1L << value)) != 0;
+        }
+        for (int unitValue : unitLargeValues[unit]) {
+            if (unitValue == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * View of the packed timestamp ranges as begin/end Instants.
+     */
+    private final class TimestampRangeList extends AbstractList<Instant[]> implements RandomAccess {
+
+        @Override
+        public Instant[] get(int index) {
+            return new Instant[]{toInstant(getRangeStartNanos(index)), toInstant(getRangeEndNanos(index))};
+        }
+
+        @Override
+        public int size() {
+            return getRangeCount();
+        }
     }
 
     @Override
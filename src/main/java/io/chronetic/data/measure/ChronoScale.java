@@ -62,6 +62,18 @@ public class ChronoScale {
         }
     }
 
+    /**
+     * Returns the enabled ChronoScaleUnit with the smallest ChronoUnit.
+     *
+     * @return finest enabled ChronoScaleUnit, if any
+     */
+    @NotNull
+    public Optional<ChronoScaleUnit> getFinestEnabledChronoScaleUnit() {
+        return chronoScaleMap.values().stream()
+                .filter(chronoScaleUnit -> !chronoScaleUnit.isDisabled())
+                .findFirst();
+    }
+
     /**
      * Returns the ChronoScaleUnit for the given ChronoUnit.
      *
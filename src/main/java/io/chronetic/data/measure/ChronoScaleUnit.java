@@ -1,5 +1,7 @@
 package io.chronetic.data.measure;
 
+import com.google.common.cache.Cache;
+import io.chronetic.data.CacheRegistry;
 import io.chronetic.data.ChronoSeries;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,7 +21,6 @@ import static java.util.Objects.requireNonNull;
  */
 public class ChronoScaleUnit {
 
-    private static final Map<ChronoSeries, Set<ChronoScaleUnit>> cacheMap = new IdentityHashMap<>();
     private final ChronoUnit chronoUnit;
     private final long actualMinimum;
     private final long actualMaximum;
@@ -105,7 +106,7 @@ public class ChronoScaleUnit {
      *
      * @param temporalValue temporal value to observe
      */
-    public void observeValue(long temporalValue) {
+    public synchronized void observeValue(long temporalValue) {
         if (temporalValue > actualMaximum || temporalValue < actualMinimum) {
             throw new IllegalArgumentException("Invalid temporal value: " + temporalValue);
         }
@@ -161,34 +162,25 @@ public class ChronoScaleUnit {
 
     /**
      * Create a factual ChronoScaleUnit from the given ChronoUnit.
-     * Factual ChronoScaleUnits are stored in cache with ChronoSeries as the key.
+     * Factual ChronoScaleUnits are stored in the ChronoSeries' cache (see {@link CacheRegistry}).
      *
      * @param chronoUnit desired ChronoUnit
      * @return factual ChronoScaleUnit for the given ChronoUnit
      */
     @NotNull
     public static ChronoScaleUnit asFactual(@NotNull ChronoSeries chronoSeries, @NotNull ChronoUnit chronoUnit) {
-        Set<ChronoScaleUnit> chronoScaleUnits = cacheMap.get(requireNonNull(chronoSeries));
-        if (chronoScaleUnits == null) {
-            cacheMap.put(chronoSeries, chronoScaleUnits = new HashSet<>());
-        }
-        ChronoScaleUnit cacheScaleUnit = null;
-        for (ChronoScaleUnit scaleUnit : chronoScaleUnits) {
-            if (scaleUnit.getChronoUnit() == requireNonNull(chronoUnit)) {
-                cacheScaleUnit = scaleUnit;
-                break;
-            }
-        }
-
-        if (cacheScaleUnit == null) {
-            ChronoScaleUnit scaleUnit = new ChronoScaleUnit(chronoUnit,
-                    ChronoScale.getFactualMinimum(chronoUnit), ChronoScale.getFactualMaximum(chronoUnit),
-                    null, null);
-            cacheMap.get(requireNonNull(chronoSeries)).add(scaleUnit);
-            return scaleUnit;
-        } else {
+        Cache<ChronoUnit, ChronoScaleUnit> chronoScaleUnits = CacheRegistry.getCache(
+                requireNonNull(chronoSeries), CacheRegistry.Region.SCALE_UNITS);
+        ChronoScaleUnit cacheScaleUnit = chronoScaleUnits.getIfPresent(requireNonNull(chronoUnit));
+        if (cacheScaleUnit != null) {
             return cacheScaleUnit;
         }
+
+        ChronoScaleUnit scaleUnit = new ChronoScaleUnit(chronoUnit,
+                ChronoScale.getFactualMinimum(chronoUnit), ChronoScale.getFactualMaximum(chronoUnit),
+                null, null);
+        cacheScaleUnit = chronoScaleUnits.asMap().putIfAbsent(chronoUnit, scaleUnit);
+        return cacheScaleUnit == null ? scaleUnit : cacheScaleUnit;
     }
 
     /**
@@ -0,0 +1,200 @@
+package io.chronetic.data.measure;
+
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jenetics.util.ISeq;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Time ranges which repeat with a fixed period; windows of a fixed width starting at a fixed phase of every period,
+ * clipped to the given bounds. Held in constant memory regardless of the amount of windows.
+ * <p>
+ * ChronoPattern sequences are periodic when they only use DAYS (day of week), HOURS, MINUTES and SECONDS,
+ * with a single temporal value per unit and without skipping a unit between the coarsest and finest unit.
+ * These units have a fixed length in UTC, so the windows have no calendar exceptions.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @author <a href="mailto:brandon.fergerson@codebrig.com">Brandon Fergerson</a>
+ */
+final class PeriodicRange {
+
+    private static final ChronoUnit[] UNITS = {
+            ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS
+    };
+    private static final long[] UNIT_NANOS = {86_400_000_000_000L, 3_600_000_000_000L, 60_000_000_000L, 1_000_000_000L};
+    private static final long[] PERIOD_NANOS = {7 * UNIT_NANOS[0], UNIT_NANOS[0], UNIT_NANOS[1], UNIT_NANOS[2]};
+    private static final int[] CARDINALITIES = {7, 24, 60, 60};
+
+    private final long phaseNanos;
+    private final long periodNanos;
+    private final long widthNanos;
+    private final long beginNanos;
+    private final long endNanos;
+    private final long firstStartNanos;
+    private final int size;
+
+    private PeriodicRange(long phaseNanos, long periodNanos, long widthNanos, long beginNanos, long endNanos) {
+        this.phaseNanos = phaseNanos;
+        this.periodNanos = periodNanos;
+        this.widthNanos = widthNanos;
+        this.beginNanos = beginNanos;
+        this.endNanos = endNanos;
+
+        //first window ending after the begin bound; last window starting at/before the end bound
+        long firstWindow = Math.floorDiv(beginNanos - phaseNanos - widthNanos, periodNanos) + 1;
+        long lastWindow = Math.floorDiv(endNanos - phaseNanos, periodNanos);
+        firstStartNanos = phaseNanos + firstWindow * periodNanos;
+        size = (int) Math.max(0, lastWindow - firstWindow + 1);
+    }
+
+    /**
+     * Creates PeriodicRange of the given ChronoPattern sequence within the given bounds.
+     *
+     * @param chronoPatternSeq ChronoPattern sequence to consider
+     * @param beginNanos earliest epoch nanoseconds (inclusive)
+     * @param endNanos latest epoch nanoseconds (inclusive)
+     * @return PeriodicRange of the given ChronoPattern sequence, if periodic
+     */
+    @NotNull
+    static Optional<PeriodicRange> of(@NotNull ISeq<ChronoPattern> chronoPatternSeq, long beginNanos, long endNanos) {
+        int[] values = new int[UNITS.length];
+        boolean[] constrained = new boolean[UNITS.length];
+        for (ChronoPattern chronoPattern : requireNonNull(chronoPatternSeq)) {
+            int level = getLevel(chronoPattern.getChronoScaleUnit().getChronoUnit());
+            if (level < 0 || constrained[level] || !chronoPattern.getTemporalValue().isPresent()) {
+                return Optional.empty();
+            }
+            constrained[level] = true;
+            values[level] = chronoPattern.getTemporalValue().getAsInt();
+        }
+
+        int coarsestLevel = -1;
+        int finestLevel = -1;
+        long phaseNanos = 0;
+        for (int level = 0; level < UNITS.length; level++) {
+            if (constrained[level]) {
+                if (finestLevel >= 0 && finestLevel != level - 1) {
+                    return Optional.empty(); //skipped unit; windows repeat within the period
+                }
+
+                int value = values[level];
+                if (level == 0) {
+                    value = Math.floorMod(value - 4, 7); //1970-01-01 was a Thursday
+                } else if (value < 0 || value >= CARDINALITIES[level]) {
+                    return Optional.empty();
+                }
+                phaseNanos += value * UNIT_NANOS[level];
+                coarsestLevel = coarsestLevel < 0 ? level : coarsestLevel;
+                finestLevel = level;
+            }
+        }
+        if (coarsestLevel < 0 || Math.floorDiv(endNanos - beginNanos, PERIOD_NANOS[coarsestLevel]) >= Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        return Optional.of(new PeriodicRange(phaseNanos, PERIOD_NANOS[coarsestLevel], UNIT_NANOS[finestLevel],
+                beginNanos, endNanos));
+    }
+
+    /**
+     * Returns amount of windows within the bounds.
+     *
+     * @return amount of windows
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns start of the given window, clipped to the bounds.
+     *
+     * @param window window index
+     * @return start epoch nanoseconds of the given window
+     */
+    long getStartNanos(int window) {
+        return Math.max(beginNanos, firstStartNanos + window * periodNanos);
+    }
+
+    /**
+     * Returns end (exclusive) of the given window, clipped to the bounds.
+     *
+     * @param window window index
+     * @return end epoch nanoseconds of the given window
+     */
+    long getEndNanos(int window) {
+        return Math.min(endNanos, firstStartNanos + window * periodNanos + widthNanos);
+    }
+
+    /**
+     * Determines whether the last window reaches past the end bound, which then is itself included.
+     *
+     * @return whether the end bound is included
+     */
+    boolean isEndIncluded() {
+        return size > 0 && firstStartNanos + (size - 1) * periodNanos + widthNanos > endNanos;
+    }
+
+    /**
+     * Determines whether the given epoch nanoseconds are within a window and the bounds (inclusive).
+     *
+     * @param epochNanos epoch nanoseconds to consider
+     * @return whether the given epoch nanoseconds are included
+     */
+    boolean contains(long epochNanos) {
+        return epochNanos >= beginNanos && epochNanos <= endNanos
+                && Math.floorMod(epochNanos - phaseNanos, periodNanos) < widthNanos;
+    }
+
+    /**
+     * Returns total Duration of the windows within the bounds.
+     *
+     * @return total Duration
+     */
+    @NotNull
+    Duration getDuration() {
+        if (size == 0) {
+            return Duration.ZERO;
+        }
+
+        long firstClip = Math.max(0, beginNanos - firstStartNanos);
+        long lastClip = Math.max(0, firstStartNanos + (size - 1) * periodNanos + widthNanos - endNanos);
+        return Duration.ofSeconds(0, size * widthNanos - firstClip - lastClip);
+    }
+
+    /**
+     * Determines whether any window of this PeriodicRange overlaps a window of the given PeriodicRange.
+     * Only known when both have the same bounds spanning the longer period.
+     *
+     * @param other PeriodicRange to consider
+     * @return whether the PeriodicRanges overlap; empty if unknown
+     */
+    @NotNull
+    Optional<Boolean> isOverlapping(@NotNull PeriodicRange other) {
+        PeriodicRange longer = periodNanos >= requireNonNull(other).periodNanos ? this : other;
+        PeriodicRange shorter = longer == this ? other : this;
+        if (beginNanos != other.beginNanos || endNanos != other.endNanos
+                || endNanos - beginNanos < 2 * longer.periodNanos) {
+            return Optional.empty();
+        }
+
+        //periods divide each other; the first shorter window ending after a longer window's start decides
+        long window = Math.floorDiv(longer.phaseNanos - shorter.phaseNanos - shorter.widthNanos, shorter.periodNanos) + 1;
+        long shorterStart = shorter.phaseNanos + window * shorter.periodNanos;
+        return Optional.of(shorterStart < longer.phaseNanos + longer.widthNanos);
+    }
+
+    private static int getLevel(@NotNull ChronoUnit chronoUnit) {
+        for (int i = 0; i < UNITS.length; i++) {
+            if (UNITS[i] == chronoUnit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
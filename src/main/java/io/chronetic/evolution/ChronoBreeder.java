@@ -3,7 +3,9 @@ package io.chronetic.evolution;
 import com.google.common.collect.Maps;
 import com.google.common.collect.MinMaxPriorityQueue;
 import io.chronetic.Chronetic;
+import io.chronetic.data.ChronoSeries;
 import io.chronetic.data.evaluate.ChronoFitness;
+import io.chronetic.data.measure.ChronoRange;
 import io.chronetic.evolution.pool.ChronoGene;
 import io.chronetic.evolution.pool.Chronosome;
 import io.chronetic.evolution.pool.Chronotype;
@@ -17,6 +19,7 @@ import org.jenetics.util.RandomRegistry;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.TreeMap;
@@ -137,9 +140,35 @@ public class ChronoBreeder extends AbstractAlterer<AnyGene<Chronotype>, ChronoFi
             ));
         }
 
+        if (chronetic.isBatchEventCounts()) {
+            prefetchEventCounts(population);
+        }
         return alterations.value;
     }
 
+    /**
+     * Requests the event counts of every valid Chronosome in the population at once,
+     * ahead of the population's fitness evaluation.
+     *
+     * @param population population to prefetch
+     */
+    private void prefetchEventCounts(@NotNull Population<AnyGene<Chronotype>, ChronoFitness> population) {
+        if (population.isEmpty()) {
+            return;
+        }
+
+        ChronoSeries chronoSeries = population.get(0).getGenotype().getGene().getAllele().getChronoSeries();
+        List<ChronoRange> chronoRanges = new ArrayList<>();
+        for (Phenotype<AnyGene<Chronotype>, ChronoFitness> phenotype : population) {
+            for (Chronosome chronosome : phenotype.getGenotype().getGene().getAllele().getChronosomes()) {
+                if (chronosome.isValid()) {
+                    chronoRanges.add(chronosome.getChronoRange());
+                }
+            }
+        }
+        chronoSeries.prefetchEventCounts(chronoRanges);
+    }
+
     @NotNull
     private Chronotype getRandomTopChronotype() {
         //best solution
@@ -1,6 +1,7 @@
 package io.chronetic.evolution.pool;
 
 import io.chronetic.data.ChronoSeries;
+import io.chronetic.data.measure.ChronoCalendar;
 import io.chronetic.data.measure.ChronoScaleUnit;
 import io.chronetic.evolution.pool.allele.ChronoFrequency;
 import io.chronetic.evolution.pool.allele.ChronoPattern;
@@ -124,7 +125,7 @@ public class Chronotype implements Iterable<Chronosome>, Verifiable, Serializabl
             //add chrono frequency gene
             LocalDateTime secondDateTime = chronoSeries.getTimestamp(startPosition++).atZone(ZoneOffset.UTC).toLocalDateTime();
             ChronoScaleUnit randomScaleUnit = chronoSeries.getChronoScale().getRandomEnabledChronoScaleUnit(random);
-            long frequency = randomScaleUnit.getChronoUnit().between(firstDateTime, secondDateTime);
+            long frequency = ChronoCalendar.between(firstDateTime, secondDateTime, randomScaleUnit.getChronoUnit());
             if (frequency == 0) {
                 //no point in a frequency of nothing
                 frequency++;
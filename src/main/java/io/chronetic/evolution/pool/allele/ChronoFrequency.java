@@ -1,6 +1,7 @@
 package io.chronetic.evolution.pool.allele;
 
 import io.chronetic.data.ChronoSeries;
+import io.chronetic.data.measure.ChronoCalendar;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -81,8 +82,8 @@ public class ChronoFrequency extends ChronoAllele {
         }
 
         //update chrono frequency gene
-        long frequency = getChronoUnit().between(firstDateTime, secondDateTime);
-        LocalDateTime addedDateTime = firstDateTime.plus(frequency, getChronoUnit());
+        long frequency = ChronoCalendar.between(firstDateTime, secondDateTime, getChronoUnit());
+        LocalDateTime addedDateTime = ChronoCalendar.add(firstDateTime, frequency, getChronoUnit());
         if (addedDateTime.isBefore(secondDateTime) && isWithinRange(frequency)) {
             frequency++;
         } else if (frequency == 0) {
@@ -2,11 +2,23 @@ package io.chronetic;
 
 import com.google.common.collect.Sets;
 import io.chronetic.data.ChronoSeries;
+import io.chronetic.data.describe.ChronoDescriptor;
+import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScaleUnit;
+import io.chronetic.evolution.pool.ChronoGene;
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jenetics.util.ISeq;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.*;
 
@@ -58,6 +70,80 @@ public class ChroneticTest {
         ).contains(description));
     }
 
+    @Test(timeout = 300_000)
+    public void chroneticDescribeAllTest() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Chronetic chronetic = Chronetic.configure()
+                    .populationSize(100).offspringSize(100).survivorsSize(100).maxGeneration(5)
+                    .executor(executor)
+                    .build();
+
+            //more series than evaluation threads and default analysis threads
+            Map<Integer, ChronoSeries> chronoSeriesMap = new LinkedHashMap<>();
+            for (int i = 0; i < Runtime.getRuntime().availableProcessors() + 2; i++) {
+                chronoSeriesMap.put(i, ChronoSeries.of(
+                        Instant.parse("2011-11-04T08:48:11Z").plusSeconds(i),
+                        Instant.parse("2012-11-02T09:23:16Z").plusSeconds(i),
+                        Instant.parse("2013-11-01T09:51:49Z").plusSeconds(i),
+                        Instant.parse("2014-11-07T08:43:00Z").plusSeconds(i),
+                        Instant.parse("2015-11-06T08:22:25Z").plusSeconds(i)
+                ));
+            }
+
+            Map<Integer, ChronoDescriptor> descriptors = chronetic.describeAll(chronoSeriesMap).join();
+            assertEquals(chronoSeriesMap.keySet(), descriptors.keySet());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void chroneticCalendarCubeTest() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-11-02T09:23:16Z"),
+                Instant.parse("2013-11-01T09:51:49Z"),
+                Instant.parse("2014-11-07T08:43:00Z"),
+                Instant.parse("2015-11-06T08:22:25Z")
+        );
+        ChroneticAnalyzer analyzer = Chronetic.configure().calendarCube(true).build()
+                .analyze(chronoSeries).withHourPrecision();
+        analyzer.prepareChronoSeries();
+
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 8))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertTrue(chronoSeries.isCalendarCounted(chronoRange));
+        assertEquals(3, chronoSeries.countEventsBetween(chronoRange));
+    }
+
+    @Test
+    public void chroneticCalendarIndexTest() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-11-02T09:23:16Z"),
+                Instant.parse("2013-11-01T09:51:49Z"),
+                Instant.parse("2014-11-07T08:43:00Z"),
+                Instant.parse("2015-11-06T08:22:25Z")
+        );
+        ChroneticAnalyzer analyzer = Chronetic.configure().calendarIndex(true).build()
+                .analyze(chronoSeries).withHourPrecision();
+        analyzer.prepareChronoSeries();
+
+        ChronoRange eightRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 8))
+        ));
+        ChronoRange nineRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 9))
+        ));
+        assertTrue(chronoSeries.isCalendarCounted(eightRange));
+        assertEquals(2, chronoSeries.countEventsBetween(nineRange));
+        assertEquals(Optional.of(false), chronoSeries.isSharingEvents(eightRange, nineRange));
+        assertEquals(Optional.of(true), chronoSeries.isSharingEvents(eightRange, eightRange));
+    }
+
 //    @Test
 //    public void influxDBEverySecondTest() {
 //        logger.info("Connecting to InfluxDB...");
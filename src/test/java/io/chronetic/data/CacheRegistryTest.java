@@ -0,0 +1,99 @@
+package io.chronetic.data;
+
+import com.google.common.cache.CacheStats;
+import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScaleUnit;
+import io.chronetic.evolution.pool.ChronoGene;
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jenetics.util.ISeq;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+public class CacheRegistryTest {
+
+    @Test
+    public void cacheRegistryTest1() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z"),
+                Instant.parse("2013-11-29T09:51:49Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 11))
+        );
+
+        CacheStats beforeStats = CacheRegistry.getStats(CacheRegistry.Region.CHRONO_RANGES);
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertSame(chronoRange, ChronoRange.getChronoRange(chronoSeries, genes));
+        CacheStats stats = CacheRegistry.getStats(CacheRegistry.Region.CHRONO_RANGES).minus(beforeStats);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertTrue(CacheRegistry.getTotalWeight() > 0);
+
+        //closing releases cached ranges; series stays usable
+        long releaseCount = CacheRegistry.getReleaseCount();
+        chronoSeries.close();
+        assertEquals(releaseCount + 1, CacheRegistry.getReleaseCount());
+        ChronoRange recalculatedRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertNotSame(chronoRange, recalculatedRange);
+        assertEquals(3, chronoSeries.countEventsBetween(recalculatedRange));
+    }
+
+    @Test
+    public void cacheRegistryTest2() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z")
+        );
+        ChronoSeries otherChronoSeries = ChronoSeries.of(
+                Instant.parse("2013-11-25T08:48:11Z"),
+                Instant.parse("2014-11-30T09:23:16Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 11))
+        );
+        ISeq<ChronoGene> otherGenes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(otherChronoSeries, ChronoUnit.MONTHS), 0, 11))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        try {
+            //least recently used series is released once added entries exceed the memory budget
+            CacheRegistry.setMemoryBudget(0);
+            long releaseCount = CacheRegistry.getReleaseCount();
+            ChronoRange.getChronoRange(otherChronoSeries, otherGenes);
+            assertTrue(CacheRegistry.getReleaseCount() > releaseCount);
+            assertNotSame(chronoRange, ChronoRange.getChronoRange(chronoSeries, genes));
+        } finally {
+            CacheRegistry.setMemoryBudget(CacheRegistry.DEFAULT_MEMORY_BUDGET);
+        }
+    }
+
+    @Test
+    public void cacheRegistryTest3() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z"),
+                Instant.parse("2013-11-29T09:51:49Z"),
+                Instant.parse("2015-12-04T10:22:25Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2011)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2013)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 11))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertFalse(chronoRange.isPeriodic());
+        assertEquals(2, chronoRange.getRangeCount());
+
+        //event counts are weighed by the timestamp ranges their ChronoRange key keeps alive
+        assertEquals(CacheRegistry.weigh(genes, chronoRange) - CacheRegistry.weigh(genes, 2),
+                CacheRegistry.weigh(chronoRange, 2) - CacheRegistry.weigh(2, 2));
+        assertTrue(CacheRegistry.weigh(chronoRange, 2) - CacheRegistry.weigh(2, 2) >= 16 * chronoRange.getRangeCount());
+    }
+
+}
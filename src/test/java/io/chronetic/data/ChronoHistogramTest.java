@@ -0,0 +1,39 @@
+package io.chronetic.data;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChronoHistogramTest {
+
+    @Test
+    public void chronoHistogramTest1() {
+        //events: 14:14, 15:00, 15:30, 16:00, 16:20
+        ChronoHistogram histogram = new ChronoHistogram(ChronoUnit.HOURS,
+                nanos("2017-07-30T13:00:00Z"), nanos("2017-07-30T14:14:00Z"), nanos("2017-07-30T16:20:00Z"),
+                new long[]{0, 1, 2, 2}, new long[]{0, 2, 2, 1});
+
+        assertEquals(3, histogram.countEvents(Collections.singletonList(range("2017-07-30T15:00:00Z", "2017-07-30T16:00:00Z"))));
+        assertEquals(4, histogram.countEvents(Arrays.asList(
+                range("2017-07-30T14:00:00Z", "2017-07-30T15:00:00Z"),
+                range("2017-07-30T15:00:00Z", "2017-07-30T16:00:00Z"))));
+        assertEquals(5, histogram.countEvents(Collections.singletonList(range("2017-07-30T14:14:00Z", "2017-07-30T16:20:00Z"))));
+        assertEquals(1, histogram.countEvents(Collections.singletonList(range("2017-07-30T16:00:00Z", "2017-07-30T16:00:00Z"))));
+        assertEquals(0, histogram.countEvents(Collections.singletonList(range("2017-07-30T17:00:00Z", "2017-07-30T18:00:00Z"))));
+        assertEquals(-1, histogram.countEvents(Collections.singletonList(range("2017-07-30T15:10:00Z", "2017-07-30T16:00:00Z"))));
+    }
+
+    private static long nanos(String timestamp) {
+        return ChronoSeries.toEpochNanos(Instant.parse(timestamp));
+    }
+
+    private static Instant[] range(String start, String end) {
+        return new Instant[]{Instant.parse(start), Instant.parse(end)};
+    }
+
+}
@@ -0,0 +1,114 @@
+package io.chronetic.data;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+public class ChronoSeriesReaderTest {
+
+    @Test
+    public void readerTest1() throws IOException {
+        String csv = "time,value\n" +
+                "2017-07-30T14:14:00Z,1\n" +
+                "\"2017-07-30T14:13:00Z\",2\r\n" +
+                "2017-07-30T14:15:00.5Z,3";
+        ChronoSeries chronoSeries = ChronoSeriesReader.csv().header(true)
+                .read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, chronoSeries.getSize());
+        assertEquals(Instant.parse("2017-07-30T14:13:00Z"), chronoSeries.getTimestamp(0));
+        assertEquals(Instant.parse("2017-07-30T14:14:00Z"), chronoSeries.getTimestamp(1));
+        assertEquals(Instant.parse("2017-07-30T14:15:00.5Z"), chronoSeries.getTimestamp(2));
+    }
+
+    @Test
+    public void readerTest2() throws IOException {
+        String csv = "a;1501424040\n" +
+                "b;1501424040\n" +
+                "c;1501423980\n";
+        ChronoSeries chronoSeries = ChronoSeriesReader.csv().delimiter(';').column(1)
+                .precision(ChronoUnit.SECONDS).distinct(true)
+                .read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, chronoSeries.getSize());
+        assertEquals(Instant.ofEpochSecond(1501423980), chronoSeries.getBeginTimestamp());
+        assertEquals(Instant.ofEpochSecond(1501424040), chronoSeries.getEndTimestamp());
+    }
+
+    @Test
+    public void readerTest3() throws IOException {
+        String lineProtocol = "# DML\n" +
+                "cpu,host=a value=1 1501424040000000000\n" +
+                "mem,host=a value=2 1501424041000000000\n" +
+                "cpu,host=b value=3,text=\"a b\" 1501424042000000000\n";
+        ChronoSeries chronoSeries = ChronoSeriesReader.lineProtocol().measurement("cpu")
+                .read(new ByteArrayInputStream(lineProtocol.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, chronoSeries.getSize());
+        assertEquals(Instant.ofEpochSecond(1501424040), chronoSeries.getBeginTimestamp());
+        assertEquals(Instant.ofEpochSecond(1501424042), chronoSeries.getEndTimestamp());
+    }
+
+    @Test
+    public void readerTest4() throws IOException {
+        //enough lines for multiple chunks
+        StringBuilder lines = new StringBuilder();
+        Instant begin = Instant.parse("2017-01-01T00:00:00Z");
+        for (int i = 9999; i >= 0; i--) {
+            lines.append(begin.plusSeconds(i * 60L)).append('\n');
+        }
+
+        Path file = Files.createTempFile("chronetic", ".txt");
+        try {
+            Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8));
+            ChronoSeries fromFile = ChronoSeriesReader.isoLines().chunkSize(4096).read(file);
+            ChronoSeries fromStream = ChronoSeriesReader.isoLines().chunkSize(4096)
+                    .read(new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(10000, fromFile.getSize());
+            assertEquals(10000, fromStream.getSize());
+            for (int i = 0; i < 10000; i++) {
+                assertEquals(begin.plusSeconds(i * 60L), fromFile.getTimestamp(i));
+                assertEquals(begin.plusSeconds(i * 60L), fromStream.getTimestamp(i));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readerTest5() throws IOException {
+        String lines = "2017-07-30T14:14:00Z\nyesterday\n";
+        ChronoSeriesReader.isoLines().read(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void readerTest6() throws IOException {
+        //lines longer than the chunk size
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 2100; i++) {
+            padding.append('x');
+        }
+        StringBuilder csv = new StringBuilder();
+        Instant begin = Instant.parse("2017-01-01T00:00:00Z");
+        for (int i = 0; i < 10; i++) {
+            csv.append(i % 4 == 3 ? "" : padding).append(',').append(begin.plusSeconds(i * 60L)).append('\n');
+        }
+
+        ChronoSeries chronoSeries = ChronoSeriesReader.csv().column(1).chunkSize(1024)
+                .read(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(10, chronoSeries.getSize());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(begin.plusSeconds(i * 60L), chronoSeries.getTimestamp(i));
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package io.chronetic.data;
 
+import io.chronetic.Chronetic;
 import io.chronetic.data.measure.ChronoRange;
+import io.chronetic.data.measure.ChronoScale;
 import io.chronetic.data.measure.ChronoScaleUnit;
 import io.chronetic.evolution.pool.ChronoGene;
 import io.chronetic.evolution.pool.allele.ChronoAllele;
@@ -9,12 +11,16 @@ import io.chronetic.evolution.pool.allele.ChronoPattern;
 import org.jenetics.util.ISeq;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.Month;
 import java.time.temporal.ChronoUnit;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ChronoSeriesTest {
 
@@ -68,4 +74,367 @@ public class ChronoSeriesTest {
         assertTrue(actualCount == 5);
     }
 
+    @Test
+    public void chronoSeriesTest3() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-02-28T08:48:13Z"),
+                Instant.parse("2017-02-28T08:48:11.000000001Z"),
+                Instant.parse("2017-02-28T08:48:15Z"),
+                Instant.parse("2017-02-28T08:48:12Z")
+        );
+
+        assertEquals(Instant.parse("2017-02-28T08:48:11.000000001Z"), chronoSeries.getBeginTimestamp());
+        assertEquals(Instant.parse("2017-02-28T08:48:15Z"), chronoSeries.getEndTimestamp());
+        assertEquals(Instant.parse("2017-02-28T08:48:12Z"), chronoSeries.getTimestamp(1));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2017-02-28T08:48:12Z"),
+                Instant.parse("2017-02-28T08:48:13Z")
+        }, chronoSeries.getTimestamps(1, 2));
+        assertEquals(4, chronoSeries.getSize());
+    }
+
+    @Test
+    public void chronoSeriesTest4() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:14:59Z"),
+                Instant.parse("2017-07-30T14:15:00Z"),
+                Instant.parse("2017-07-30T14:17:59Z"),
+                Instant.parse("2017-07-30T14:18:00Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MINUTES), 0, 14)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MINUTES), 0, 18))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, geneSeq);
+
+        int expectedCount = 0;
+        for (Instant timestamp : chronoSeries.getTimestamps(0, chronoSeries.getSize())) {
+            if (chronoRange.containsTime(timestamp)) {
+                expectedCount++;
+            }
+        }
+        assertEquals(5, expectedCount);
+        assertEquals(expectedCount, chronoSeries.countEventsBetween(chronoRange));
+    }
+
+    @Test
+    public void chronoSeriesTest5() throws IOException {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:14:59.000000001Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+
+        Path path = Files.createTempFile("chronoseries", ".bin");
+        try {
+            chronoSeries.writeTo(path);
+            ChronoSeries mappedSeries = ChronoSeries.of(path);
+
+            assertEquals(chronoSeries.getSize(), mappedSeries.getSize());
+            assertEquals(chronoSeries.getBeginTimestamp(), mappedSeries.getBeginTimestamp());
+            assertEquals(chronoSeries.getEndTimestamp(), mappedSeries.getEndTimestamp());
+            assertEquals(chronoSeries.getTimestamp(3), mappedSeries.getTimestamp(3));
+            assertArrayEquals(chronoSeries.getTimestamps(0, chronoSeries.getSize()),
+                    mappedSeries.getTimestamps(0, mappedSeries.getSize()));
+
+            ISeq<ChronoGene> geneSeq = ISeq.of(
+                    new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(mappedSeries, ChronoUnit.MINUTES), 0, 14))
+            );
+            assertEquals(3, mappedSeries.countEventsBetween(ChronoRange.getChronoRange(mappedSeries, geneSeq)));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void chronoSeriesTest6() throws IOException {
+        Path path = Files.createTempFile("chronoseries", ".bin");
+        try {
+            Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            ChronoSeries.of(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void chronoSeriesTest7() {
+        long[] epochNanos = {
+                ChronoSeries.toEpochNanos(Instant.parse("2017-07-30T14:08:20Z")),
+                ChronoSeries.toEpochNanos(Instant.parse("2017-07-30T14:14:00Z")),
+                ChronoSeries.toEpochNanos(Instant.parse("2017-07-30T14:14:30Z")),
+                ChronoSeries.toEpochNanos(Instant.parse("2017-07-30T14:18:24Z"))
+        };
+        ChronoSeries chronoSeries = ChronoSeries.of(new ChronoSeriesSource() {
+            @Override
+            public int getSize() {
+                return epochNanos.length;
+            }
+
+            @Override
+            public long getEpochNanos(int seriesPosition) {
+                return epochNanos[seriesPosition];
+            }
+        });
+
+        assertEquals(4, chronoSeries.getSize());
+        assertEquals(Instant.parse("2017-07-30T14:08:20Z"), chronoSeries.getBeginTimestamp());
+        assertEquals(Instant.parse("2017-07-30T14:18:24Z"), chronoSeries.getEndTimestamp());
+        assertEquals(Instant.parse("2017-07-30T14:14:30Z"), chronoSeries.getTimestamps(1, 2)[1]);
+        assertTrue(chronoSeries.getSource().getCapabilities().isEmpty());
+
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MINUTES), 0, 14))
+        );
+        assertEquals(2, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+    }
+
+    @Test
+    public void chronoSeriesTest8() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MINUTES), 0, 14))
+        );
+        assertEquals(1, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+
+        chronoSeries.append(
+                Instant.parse("2017-07-30T15:14:59Z"),
+                Instant.parse("2017-07-30T15:14:30Z"),
+                Instant.parse("2017-07-30T15:20:00Z")
+        );
+        assertEquals(6, chronoSeries.getSize());
+        assertEquals(Instant.parse("2017-07-30T15:20:00Z"), chronoSeries.getEndTimestamp());
+        assertEquals(Instant.parse("2017-07-30T15:14:30Z"), chronoSeries.getTimestamp(3));
+        assertEquals(3, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chronoSeriesTest9() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+        chronoSeries.append(Instant.parse("2017-07-30T14:18:23Z"));
+    }
+
+    @Test
+    public void chronoSeriesTest10() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-29T14:14:00Z"),
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:14:00Z"),
+                Instant.parse("2017-07-30T14:14:30Z"),
+                Instant.parse("2017-07-30T15:14:10Z"),
+                Instant.parse("2017-07-30T15:18:24Z")
+        );
+
+        ChronoSeries window = chronoSeries.window(Instant.parse("2017-07-30T14:08:20Z"), Instant.parse("2017-07-30T15:14:10Z"));
+        assertEquals(4, window.getSize());
+        assertEquals(Instant.parse("2017-07-30T14:08:20Z"), window.getBeginTimestamp());
+        assertEquals(Instant.parse("2017-07-30T15:14:10Z"), window.getEndTimestamp());
+        assertEquals(Instant.parse("2017-07-30T14:14:30Z"), window.getTimestamp(2));
+
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(window, ChronoUnit.MINUTES), 0, 14))
+        );
+        assertEquals(3, window.countEventsBetween(ChronoRange.getChronoRange(window, geneSeq)));
+
+        ChronoSeries lastHour = chronoSeries.lastN(Duration.ofHours(1));
+        assertEquals(2, lastHour.getSize());
+        assertEquals(Instant.parse("2017-07-30T15:14:10Z"), lastHour.getBeginTimestamp());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chronoSeriesTest11() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+        chronoSeries.lastN(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void chronoSeriesTest12() {
+        long begin = Instant.parse("2017-07-30T14:08:00Z").getEpochSecond();
+        ChronoSeries chronoSeries = ChronoSeries.ofCounts(
+                new long[]{begin, begin + 60, begin + 360, begin + 600},
+                new int[]{2, 0, 1500, 3},
+                ChronoUnit.SECONDS
+        );
+        assertEquals(1505, chronoSeries.getSize());
+        assertEquals(Instant.parse("2017-07-30T14:08:00Z"), chronoSeries.getTimestamp(1));
+        assertEquals(Instant.parse("2017-07-30T14:14:00Z"), chronoSeries.getTimestamp(2));
+        assertEquals(Instant.parse("2017-07-30T14:14:00Z"), chronoSeries.getTimestamps(1500, 2)[1]);
+        assertEquals(Instant.parse("2017-07-30T14:18:00Z"), chronoSeries.getTimestamps(1500, 3)[2]);
+        assertEquals(Instant.parse("2017-07-30T14:18:00Z"), chronoSeries.getEndTimestamp());
+
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MINUTES), 0, 14))
+        );
+        assertEquals(1500, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chronoSeriesTest13() {
+        ChronoSeries.ofCounts(new long[]{10, 5}, new int[]{1, 1}, ChronoUnit.SECONDS);
+    }
+
+    @Test
+    public void chronoSeriesTest14() {
+        //nearly periodic series with a few irregular gaps
+        Instant[] timestamps = new Instant[5000];
+        Instant timestamp = Instant.parse("2017-07-30T00:00:00Z");
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = timestamp;
+            timestamp = timestamp.plusSeconds(i % 1000 == 999 ? 3600 : 60).plusNanos(i % 7 == 0 ? 1000 : 0);
+        }
+        ChronoSeries chronoSeries = ChronoSeries.of(timestamps);
+        ChronoSeries compressedSeries = chronoSeries.compressed();
+        assertSame(compressedSeries, compressedSeries.compressed());
+        assertEquals(chronoSeries.getSize(), compressedSeries.getSize());
+        assertEquals(chronoSeries.getEndTimestamp(), compressedSeries.getEndTimestamp());
+        assertEquals(timestamps[4321], compressedSeries.getTimestamp(4321));
+        assertArrayEquals(timestamps, compressedSeries.getTimestamps(0, timestamps.length));
+        assertTrue(((CompressedChronoSeriesSource) compressedSeries.getSource()).getCompressedBytes() < timestamps.length);
+
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(compressedSeries, ChronoUnit.HOURS), 0, 14))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(compressedSeries, geneSeq);
+        assertEquals(chronoSeries.countEventsBetween(chronoRange), compressedSeries.countEventsBetween(chronoRange));
+    }
+
+    @Test
+    public void chronoSeriesTest15() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z"),
+                Instant.parse("2013-11-29T09:51:49Z"),
+                Instant.parse("2014-11-28T08:43:00Z"),
+                Instant.parse("2015-11-27T08:22:25Z"),
+                Instant.parse("2015-12-04T10:22:25Z")
+        );
+        chronoSeries.buildCalendarCube();
+
+        ISeq<ChronoGene> geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue()))
+        );
+        assertEquals(5, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+
+        geneSeq = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2015)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue()))
+        );
+        assertEquals(2, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+
+        chronoSeries.append(Instant.parse("2015-12-11T10:00:00Z"));
+        assertEquals(3, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, geneSeq)));
+    }
+
+    @Test
+    public void chronoSeriesTest16() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z"),
+                Instant.parse("2013-11-29T09:51:49Z"),
+                Instant.parse("2014-11-28T08:43:00Z"),
+                Instant.parse("2015-11-27T08:22:25Z"),
+                Instant.parse("2015-12-04T10:22:25Z")
+        );
+        chronoSeries.buildCalendarIndex();
+
+        ChronoRange novemberRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue()))
+        ));
+        ChronoRange decemberRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.DECEMBER.getValue()))
+        ));
+        ChronoRange yearRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2015)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2014))
+        ));
+        assertEquals(5, chronoSeries.countEventsBetween(novemberRange));
+        assertEquals(1, chronoSeries.countEventsBetween(decemberRange));
+        assertEquals(3, chronoSeries.countEventsBetween(yearRange));
+        assertFalse(novemberRange.isSameChronoRange(decemberRange));
+        assertTrue(decemberRange.isSameChronoRange(yearRange));
+
+        chronoSeries.append(Instant.parse("2015-12-11T10:00:00Z"));
+        assertEquals(2, chronoSeries.countEventsBetween(ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.DECEMBER.getValue()))
+        ))));
+    }
+
+    @Test
+    public void chronoSeriesTest17() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20Z"),
+                Instant.parse("2017-07-30T14:18:24Z")
+        );
+        Chronetic.defaultEngine().analyze(chronoSeries).withHourPrecision();
+
+        chronoSeries.append(Instant.parse("2017-09-04T10:00:00Z"));
+        ChronoScale chronoScale = chronoSeries.getChronoScale();
+        assertTrue(chronoScale.getChronoScaleUnit(ChronoUnit.NANOS).isDisabled());
+        assertTrue(chronoScale.getChronoScaleUnit(ChronoUnit.SECONDS).isDisabled());
+        assertTrue(chronoScale.getChronoScaleUnit(ChronoUnit.MINUTES).isDisabled());
+        assertFalse(chronoScale.getChronoScaleUnit(ChronoUnit.HOURS).isDisabled());
+        assertFalse(chronoScale.getChronoScaleUnit(ChronoUnit.DAYS).isDisabled());
+        assertFalse(chronoScale.getChronoScaleUnit(ChronoUnit.WEEKS).isDisabled());
+        assertFalse(chronoScale.getChronoScaleUnit(ChronoUnit.MONTHS).isDisabled());
+        assertTrue(chronoScale.getChronoScaleUnit(ChronoUnit.YEARS).isDisabled());
+    }
+
+    @Test
+    public void chronoSeriesTest18() {
+        //sub-second series hold no calendar cube dimension
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20.001Z"),
+                Instant.parse("2017-07-30T14:08:20.002Z"),
+                Instant.parse("2017-07-30T14:08:20.003Z")
+        );
+        chronoSeries.buildCalendarCube();
+
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MILLIS), 0, 0))
+        ));
+        assertTrue(chronoSeries.isCalendarCounted(chronoRange));
+        assertEquals(3, chronoSeries.countEventsBetween(chronoRange));
+
+        chronoSeries.append(Instant.parse("2017-07-30T14:08:20.004Z"));
+        assertEquals(4, chronoSeries.countEventsBetween(chronoRange));
+    }
+
+    @Test
+    public void chronoSeriesTest19() {
+        //sub-second series hold no calendar index unit
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2017-07-30T14:08:20.001Z"),
+                Instant.parse("2017-07-30T14:08:20.002Z"),
+                Instant.parse("2017-07-30T14:08:20.003Z")
+        );
+        chronoSeries.buildCalendarIndex();
+
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MILLIS), 0, 0))
+        ));
+        assertTrue(chronoSeries.isCalendarCounted(chronoRange));
+        assertEquals(3, chronoSeries.countEventsBetween(chronoRange));
+
+        chronoSeries.append(Instant.parse("2017-07-30T14:08:20.004Z"));
+        assertEquals(4, chronoSeries.countEventsBetween(chronoRange));
+    }
+
 }
@@ -0,0 +1,42 @@
+package io.chronetic.data;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimestampParserTest {
+
+    @Test
+    public void timestampParserTest1() {
+        String[] timestamps = {
+                "2017-07-30T14:14:00Z",
+                "2017-07-30T14:14:00.1Z",
+                "2017-07-30T14:14:00.123456Z",
+                "2017-07-30T14:14:00.123456789Z",
+                "2016-02-29T23:59:59.999999999Z",
+                "1970-01-01T00:00:00Z",
+                "1969-12-31T23:59:59.5Z",
+                "2000-03-01T00:00:00Z"
+        };
+        for (String timestamp : timestamps) {
+            Instant expected = Instant.parse(timestamp);
+            assertEquals(timestamp, expected, ChronoSeries.toInstant(TimestampParser.parseEpochNanos(timestamp)));
+        }
+    }
+
+    @Test
+    public void timestampParserTest2() {
+        String text = "event,2017-07-30T14:14:00.25Z,1";
+        assertEquals(Instant.parse("2017-07-30T14:14:00.25Z"),
+                ChronoSeries.toInstant(TimestampParser.parseEpochNanos(text, 6, 29)));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void timestampParserTest3() {
+        TimestampParser.parseEpochNanos("2017-02-30T14:14:00Z");
+    }
+
+}
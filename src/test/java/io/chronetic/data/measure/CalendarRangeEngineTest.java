@@ -0,0 +1,52 @@
+package io.chronetic.data.measure;
+
+import io.chronetic.data.ChronoSeries;
+import io.chronetic.evolution.pool.allele.ChronoPattern;
+import org.jenetics.util.ISeq;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+public class CalendarRangeEngineTest {
+
+    @Test
+    public void calendarRangeEngineTest1() {
+        //ranges adjacent at the partition boundary are merged
+        assertArrayEquals(new long[]{0, 10, 20, 40, 50, 60},
+                CalendarRangeEngine.stitchRanges(new long[]{0, 10, 20, 30}, new long[]{30, 40, 50, 60}));
+        assertArrayEquals(new long[]{0, 40},
+                CalendarRangeEngine.stitchRanges(new long[]{0, 30}, new long[]{30, 40}));
+
+        assertArrayEquals(new long[]{0, 10, 20, 30, 31, 40},
+                CalendarRangeEngine.stitchRanges(new long[]{0, 10, 20, 30}, new long[]{31, 40}));
+        assertArrayEquals(new long[]{31, 40}, CalendarRangeEngine.stitchRanges(new long[0], new long[]{31, 40}));
+        assertArrayEquals(new long[]{0, 10}, CalendarRangeEngine.stitchRanges(new long[]{0, 10}, new long[0]));
+    }
+
+    @Test
+    public void calendarRangeEngineTest2() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2010-06-01T00:30:00Z"),
+                Instant.parse("2016-06-01T00:30:00Z")
+        );
+        ISeq<ChronoPattern> chronoPatternSeq = ISeq.of(
+                new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 12),
+                new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 1),
+                new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 1),
+                new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 22),
+                new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 23)
+        );
+        long beginEpochSecond = chronoSeries.getBeginTimestamp().getEpochSecond();
+        long endEpochSecond = chronoSeries.getEndTimestamp().getEpochSecond();
+
+        //per year partitions equal a single calculation
+        long[] ranges = CalendarRangeEngine.calculateRanges(chronoPatternSeq, beginEpochSecond, endEpochSecond);
+        assertArrayEquals(CalendarRangeEngine.of(chronoPatternSeq, beginEpochSecond, endEpochSecond)
+                .calculateRanges(beginEpochSecond, endEpochSecond), ranges);
+        assertEquals(2 * 2 * 62 * 6, ranges.length);
+    }
+
+}
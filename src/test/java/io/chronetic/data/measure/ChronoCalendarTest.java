@@ -0,0 +1,41 @@
+package io.chronetic.data.measure;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+public class ChronoCalendarTest {
+
+    @Test
+    public void chronoCalendarTest1() {
+        LocalDateTime dateTime = LocalDateTime.parse("2017-07-29T21:48:33.123");
+
+        assertEquals(LocalDateTime.parse("2017-07-29T21:48:33"), ChronoCalendar.truncate(dateTime, ChronoUnit.SECONDS));
+        assertEquals(LocalDateTime.parse("2017-07-29T12:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.HALF_DAYS));
+        assertEquals(LocalDateTime.parse("2017-07-29T00:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.DAYS));
+        assertEquals(dateTime, ChronoCalendar.truncate(dateTime, ChronoUnit.WEEKS));
+        assertEquals(LocalDateTime.parse("2017-07-01T00:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.MONTHS));
+        assertEquals(LocalDateTime.parse("2017-01-01T00:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.YEARS));
+        assertEquals(LocalDateTime.parse("2010-01-01T00:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.DECADES));
+        assertEquals(LocalDateTime.parse("2000-01-01T00:00:00"), ChronoCalendar.truncate(dateTime, ChronoUnit.CENTURIES));
+    }
+
+    @Test
+    public void chronoCalendarTest2() {
+        LocalDateTime start = LocalDateTime.parse("2011-01-31T12:00:00");
+        LocalDateTime end = LocalDateTime.parse("2031-03-01T00:00:00");
+
+        for (ChronoUnit chronoUnit : ChronoUnit.values()) {
+            if (ChronoCalendar.isSupported(chronoUnit)) {
+                assertEquals(chronoUnit.toString(), chronoUnit.between(start, end), ChronoCalendar.between(start, end, chronoUnit));
+                assertEquals(chronoUnit.toString(), chronoUnit.between(end, start), ChronoCalendar.between(end, start, chronoUnit));
+                assertEquals(chronoUnit.toString(), start.plus(3, chronoUnit), ChronoCalendar.add(start, 3, chronoUnit));
+            }
+        }
+        assertFalse(ChronoCalendar.isSupported(ChronoUnit.FOREVER));
+    }
+
+}
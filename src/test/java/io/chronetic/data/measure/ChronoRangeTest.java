@@ -8,7 +8,9 @@ import org.jenetics.util.ISeq;
 import org.junit.Test;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.temporal.ChronoUnit;
 
@@ -292,6 +294,210 @@ public class ChronoRangeTest {
         }, chronoRange.getTimestampRanges().get(4));
     }
 
+    @Test
+    public void chronoRangeTest8() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-11-02T09:23:16Z"),
+                Instant.parse("2013-11-01T09:51:49Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2011))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        assertTrue(chronoRange.getTimestampRanges().size() == 1);
+        assertArrayEquals("Invalid ChronoRange", new Instant[]{
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-01-01T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(0));
+        assertFalse(chronoRange.isIncludeEndingTimestamp());
+
+        genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 9)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue()))
+        );
+        chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        assertTrue(chronoRange.getTimestampRanges().size() == 10);
+        assertArrayEquals("Invalid ChronoRange", new Instant[]{
+                Instant.parse("2011-11-04T09:00:00Z"),
+                Instant.parse("2011-11-04T10:00:00Z")
+        }, chronoRange.getTimestampRanges().get(0));
+        assertArrayEquals("Invalid ChronoRange", new Instant[]{
+                Instant.parse("2013-11-01T09:00:00Z"),
+                Instant.parse("2013-11-01T09:51:49Z")
+        }, chronoRange.getTimestampRanges().get(9));
+        assertTrue(chronoRange.isIncludeEndingTimestamp());
+    }
+
+    @Test
+    public void chronoRangeTest9() {
+        ChronoSeries chronoSeries = ChronoSeries.fromFrequency(1, ChronoUnit.SECONDS,
+                Instant.parse("2017-07-29T21:48:33Z"), Instant.parse("2017-07-30T21:48:33Z"));
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.SECONDS), 0, 15))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        assertTrue(chronoRange.isPeriodic());
+        assertEquals(1440, chronoRange.getTimestampRanges().size());
+        assertArrayEquals("Invalid ChronoRange", new Instant[]{
+                Instant.parse("2017-07-29T21:49:15Z"),
+                Instant.parse("2017-07-29T21:49:16Z")
+        }, chronoRange.getTimestampRanges().get(0));
+        assertArrayEquals("Invalid ChronoRange", new Instant[]{
+                Instant.parse("2017-07-30T21:48:15Z"),
+                Instant.parse("2017-07-30T21:48:16Z")
+        }, chronoRange.getTimestampRanges().get(1439));
+        assertEquals(Duration.ofMinutes(24), chronoRange.getRangeDuration());
+        assertTrue(chronoRange.containsTime(Instant.parse("2017-07-30T03:00:15.5Z")));
+        assertFalse(chronoRange.containsTime(Instant.parse("2017-07-30T03:00:16Z")));
+        assertEquals(1440, chronoSeries.countEventsBetween(chronoRange));
+    }
+
+    @Test
+    public void chronoRangeTest10() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-25T08:48:11Z"),
+                Instant.parse("2012-11-30T09:23:16Z"),
+                Instant.parse("2013-11-29T09:51:49Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, 11))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        assertEquals(3, chronoRange.getRangeCount());
+        assertEquals(Instant.parse("2012-11-01T00:00:00Z").getEpochSecond() * 1_000_000_000L,
+                chronoRange.getRangeStartNanos(1));
+        assertEquals(Instant.parse("2013-11-29T09:51:49Z").getEpochSecond() * 1_000_000_000L,
+                chronoRange.getRangeEndNanos(2));
+        assertTrue(chronoRange.containsTime(Instant.parse("2011-11-30T23:59:59Z")));
+        assertFalse(chronoRange.containsTime(Instant.parse("2011-12-01T00:00:00Z")));
+        assertFalse(chronoRange.containsTime(Instant.parse("2012-10-31T23:59:59Z")));
+        assertTrue(chronoRange.containsTime(Instant.parse("2013-11-29T09:51:49Z")));
+        assertEquals(Duration.between(Instant.parse("2011-11-25T08:48:11Z"), Instant.parse("2011-12-01T00:00:00Z"))
+                .plusDays(30).plus(Duration.between(Instant.parse("2013-11-01T00:00:00Z"),
+                        Instant.parse("2013-11-29T09:51:49Z"))), chronoRange.getRangeDuration());
+    }
+
+    @Test
+    public void chronoRangeTest11() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-11-02T09:23:16Z"),
+                Instant.parse("2013-11-01T09:51:49Z"),
+                Instant.parse("2014-11-07T08:43:00Z"),
+                Instant.parse("2015-11-06T08:22:25Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue()))
+        );
+        ChronoRange.getChronoRange(chronoSeries, genes);
+
+        //refined from cached ancestor; hours added to the Friday in November ranges
+        genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 8)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 9)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue()))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertEquals(19, chronoRange.getRangeCount());
+        assertEquals(Instant.parse("2011-11-04T08:48:11Z"), chronoRange.getTimestampRanges().get(0)[0]);
+        assertEquals(Instant.parse("2011-11-04T10:00:00Z"), chronoRange.getTimestampRanges().get(0)[1]);
+        assertTrue(chronoRange.containsTime(Instant.parse("2015-11-06T08:22:25Z")));
+        assertFalse(chronoRange.containsTime(Instant.parse("2014-11-07T10:00:00Z")));
+
+        //same ranges as calculated without ancestor
+        chronoSeries.close();
+        ChronoRange calculatedRange = ChronoRange.getChronoRange(chronoSeries, genes);
+        assertNotSame(chronoRange, calculatedRange);
+        assertEquals(calculatedRange.getRangeCount(), chronoRange.getRangeCount());
+        for (int i = 0; i < chronoRange.getRangeCount(); i++) {
+            assertEquals(calculatedRange.getRangeStartNanos(i), chronoRange.getRangeStartNanos(i));
+            assertEquals(calculatedRange.getRangeEndNanos(i), chronoRange.getRangeEndNanos(i));
+        }
+        assertEquals(calculatedRange.getRangeDuration(), chronoRange.getRangeDuration());
+        assertEquals(calculatedRange.getPatternEndLocalDateTime(), chronoRange.getPatternEndLocalDateTime());
+    }
+
+    @Test
+    public void chronoRangeTest12() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2010-06-01T00:30:00Z"),
+                Instant.parse("2016-06-01T00:30:00Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 23))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        //calculated per year; partitions stitched in order
+        assertEquals(2192, chronoRange.getRangeCount());
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2010-06-01T23:00:00Z"),
+                Instant.parse("2010-06-02T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(0));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2012-12-31T23:00:00Z"),
+                Instant.parse("2013-01-01T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(944));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2013-01-01T23:00:00Z"),
+                Instant.parse("2013-01-02T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(945));
+        assertFalse(chronoRange.isIncludeEndingTimestamp());
+        assertEquals(LocalDateTime.parse("2010-06-01T23:00:00"), chronoRange.getPatternStartLocalDateTime().get());
+        assertEquals(LocalDateTime.parse("2016-06-01T00:00:00"), chronoRange.getPatternEndLocalDateTime().get());
+        assertEquals(Duration.ofHours(2192), chronoRange.getRangeDuration());
+    }
+
+    @Test
+    public void chronoRangeTest13() {
+        ChronoSeries chronoSeries = ChronoSeries.of(
+                Instant.parse("2011-11-04T08:48:11Z"),
+                Instant.parse("2012-11-02T09:23:16Z"),
+                Instant.parse("2013-11-01T09:51:49Z"),
+                Instant.parse("2014-11-07T08:43:00Z"),
+                Instant.parse("2015-11-06T08:22:25Z")
+        );
+        ISeq<ChronoGene> genes = ISeq.of(
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2012)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.YEARS), 0, 2014)),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.NOVEMBER.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.MONTHS), 0, Month.DECEMBER.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.DAYS), 0, DayOfWeek.FRIDAY.getValue())),
+                new ChronoGene(new ChronoPattern(ChronoScaleUnit.asFactual(chronoSeries, ChronoUnit.HOURS), 0, 0))
+        );
+        ChronoRange chronoRange = ChronoRange.getChronoRange(chronoSeries, genes);
+
+        //every Friday of November and December 2012 and 2014
+        assertEquals(17, chronoRange.getRangeCount());
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2012-11-02T00:00:00Z"),
+                Instant.parse("2012-11-03T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(0));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2012-12-28T00:00:00Z"),
+                Instant.parse("2012-12-29T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(8));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2014-11-07T00:00:00Z"),
+                Instant.parse("2014-11-08T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(9));
+        assertArrayEquals(new Instant[]{
+                Instant.parse("2014-12-26T00:00:00Z"),
+                Instant.parse("2014-12-27T00:00:00Z")
+        }, chronoRange.getTimestampRanges().get(16));
+        assertFalse(chronoRange.isIncludeEndingTimestamp());
+        assertEquals(Duration.ofDays(17), chronoRange.getRangeDuration());
+        assertEquals(2, chronoSeries.countEventsBetween(chronoRange));
+    }
+
     @Test
     public void chronoRangeCompareTest1() {
         ChronoSeries chronoSeries = ChronoSeries.of(